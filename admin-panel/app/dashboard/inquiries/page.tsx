@@ -19,6 +19,8 @@ export default function InquiriesPage() {
   const [fromDate, setFromDate] = useState("");
   const [toDate, setToDate] = useState("");
   const [deleteId, setDeleteId] = useState<number | null>(null);
+  const [selected, setSelected] = useState<number[]>([]);
+  const [bulkDeleteOpen, setBulkDeleteOpen] = useState(false);
 
   const { data, isLoading } = useQuery({
     queryKey: ["inquiries", page, fromDate, toDate],
@@ -38,10 +40,42 @@ export default function InquiriesPage() {
     },
   });
 
+  const bulkDeleteMutation = useMutation({
+    mutationFn: (ids: number[]) => inquiriesApi.bulk({ action: "delete", ids }),
+    onSuccess: () => {
+      queryClient.invalidateQueries({ queryKey: ["inquiries"] });
+      setSelected([]);
+      setBulkDeleteOpen(false);
+    },
+  });
+
+  const pageIds = data?.data.map((item: Inquiry) => item.id) ?? [];
+  const allSelected = pageIds.length > 0 && pageIds.every((id) => selected.includes(id));
+
+  const toggleSelected = (id: number) => {
+    setSelected((current) =>
+      current.includes(id) ? current.filter((value) => value !== id) : [...current, id]
+    );
+  };
+
+  const toggleAll = () => {
+    setSelected((current) =>
+      allSelected
+        ? current.filter((id) => !pageIds.includes(id))
+        : Array.from(new Set([...current, ...pageIds]))
+    );
+  };
+
   return (
     <div className="p-8">
       <div className="flex items-center justify-between mb-6">
         <h1 className="text-3xl font-bold">Inquiries</h1>
+        {selected.length > 0 && (
+          <Button variant="destructive" onClick={() => setBulkDeleteOpen(true)}>
+            <Trash2 className="h-4 w-4 mr-2" />
+            Delete selected ({selected.length})
+          </Button>
+        )}
       </div>
 
       <Card className="p-6 mb-6">
@@ -65,6 +99,9 @@ export default function InquiriesPage() {
               <table className="w-full">
                 <thead className="bg-gray-50 border-b">
                   <tr>
+                    <th className="px-6 py-3 text-left">
+                      <input type="checkbox" checked={allSelected} onChange={toggleAll} aria-label="Select all" />
+                    </th>
                     <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Name</th>
                     <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Email</th>
                     <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Subject</th>
@@ -76,6 +113,14 @@ export default function InquiriesPage() {
                 <tbody className="divide-y">
                   {data?.data.map((item: Inquiry) => (
                     <tr key={item.id} className="hover:bg-gray-50">
+                      <td className="px-6 py-4">
+                        <input
+                          type="checkbox"
+                          checked={selected.includes(item.id)}
+                          onChange={() => toggleSelected(item.id)}
+                          aria-label={`Select inquiry from ${item.name}`}
+                        />
+                      </td>
                       <td className="px-6 py-4 text-sm font-medium">{item.name}</td>
                       <td className="px-6 py-4 text-sm text-gray-600">{item.email}</td>
                       <td className="px-6 py-4 text-sm text-gray-600">{item.subject}</td>
@@ -122,6 +167,15 @@ export default function InquiriesPage() {
         onCancel={() => setDeleteId(null)}
         isLoading={deleteMutation.isPending}
       />
+
+      <DeleteDialog
+        isOpen={bulkDeleteOpen}
+        title="Delete Inquiries"
+        description={`Are you sure you want to delete ${selected.length} inquiries? This action cannot be undone.`}
+        onConfirm={() => bulkDeleteMutation.mutate(selected)}
+        onCancel={() => setBulkDeleteOpen(false)}
+        isLoading={bulkDeleteMutation.isPending}
+      />
     </div>
   );
 }
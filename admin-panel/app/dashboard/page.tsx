@@ -3,44 +3,59 @@
 import { useEffect, useState } from "react";
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card";
 import { FileText, Newspaper, MessageSquare, Briefcase, Mail } from "lucide-react";
+import { statsApi } from "@/lib/api/stats";
+import type { AdminStats } from "@/types";
+
+const STATS_DAYS = 30;
 
 export default function DashboardPage() {
   const [user, setUser] = useState<{ name: string; email: string } | null>(null);
+  const [summary, setSummary] = useState<AdminStats | null>(null);
 
   useEffect(() => {
     const userData = localStorage.getItem("user");
     if (userData) {
       setUser(JSON.parse(userData));
     }
+    // One request for every total on the dashboard
+    statsApi.get(STATS_DAYS).then(setSummary).catch(() => setSummary(null));
   }, []);
 
+  const sumCounts = (counts?: { count: number }[]) =>
+    (counts || []).reduce((total, day) => total + day.count, 0);
+
   const stats = [
     {
       title: "Case Studies",
+      key: "caseStudies",
       icon: FileText,
       href: "/dashboard/case-studies",
       color: "bg-blue-500",
     },
     {
       title: "News Articles",
+      key: "news",
       icon: Newspaper,
       href: "/dashboard/news",
       color: "bg-green-500",
     },
     {
       title: "Testimonials",
+      key: "testimonials",
       icon: MessageSquare,
       href: "/dashboard/testimonials",
       color: "bg-purple-500",
     },
     {
       title: "Job Applications",
+      key: "jobApplications",
       icon: Briefcase,
       href: "/dashboard/job-applications",
       color: "bg-orange-500",
     },
     {
       title: "Inquiries",
+      key: "inquiries",
       icon: Mail,
       href: "/dashboard/inquiries",
       color: "bg-pink-500",
@@ -72,6 +87,9 @@ export default function DashboardPage() {
                 </div>
               </CardHeader>
               <CardContent>
+                <div className="text-2xl font-bold">
+                  {summary ? summary.totals[stat.key] ?? 0 : "-"}
+                </div>
                 <p className="text-xs text-gray-500 mt-1">
                   Click to manage
                 </p>
@@ -81,6 +99,33 @@ export default function DashboardPage() {
         })}
       </div>
 
+      {summary && (
+        <Card className="mt-8">
+          <CardHeader>
+            <CardTitle>Last {summary.days} Days</CardTitle>
+          </CardHeader>
+          <CardContent className="grid grid-cols-1 md:grid-cols-2 gap-6">
+            <div>
+              <h3 className="font-semibold text-sm mb-2">Submissions</h3>
+              <ul className="text-sm text-gray-600 space-y-1">
+                <li>Inquiries: {sumCounts(summary.inquiriesPerDay)}</li>
+                <li>Job applications: {sumCounts(summary.applicationsPerDay)}</li>
+              </ul>
+            </div>
+            <div>
+              <h3 className="font-semibold text-sm mb-2">Case Studies by Division</h3>
+              <ul className="text-sm text-gray-600 space-y-1">
+                {Object.entries(summary.byDivision.caseStudies || {}).map(([division, count]) => (
+                  <li key={division}>
+                    {division}: {count}
+                  </li>
+                ))}
+              </ul>
+            </div>
+          </CardContent>
+        </Card>
+      )}
+
       <Card className="mt-8">
         <CardHeader>
           <CardTitle>Quick Start Guide</CardTitle>
@@ -34,6 +34,7 @@ export default function LoginPage() {
 
       // Store token and user info
       localStorage.setItem("token", response.token);
+      localStorage.setItem("refreshToken", response.refreshToken);
       localStorage.setItem("user", JSON.stringify({
         id: response.id,
         name: response.name,
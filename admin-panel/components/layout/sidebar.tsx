@@ -13,6 +13,7 @@ import {
   LogOut,
 } from "lucide-react";
 import { Button } from "@/components/ui/button";
+import { authApi } from "@/lib/api/auth";
 
 const navItems = [
   {
@@ -52,7 +53,10 @@ export function Sidebar() {
   const router = useRouter();
 
   const handleLogout = () => {
+    // Revoke both tokens on the server; local sign-out does not wait for it
+    authApi.logout(localStorage.getItem("refreshToken")).catch(() => {});
     localStorage.removeItem("token");
+    localStorage.removeItem("refreshToken");
     localStorage.removeItem("user");
     router.push("/login");
   };
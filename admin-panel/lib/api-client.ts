@@ -1,4 +1,5 @@
-import axios from "axios";
+import axios, { type AxiosRequestConfig } from "axios";
+import type { AuthResponse } from "@/types";
 
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:5000";
 
@@ -25,16 +26,48 @@ apiClient.interceptors.request.use(
   }
 );
 
+// Access tokens are short-lived; one refresh is shared by all requests that hit a 401 together
+let refreshPromise: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!refreshPromise) {
+    const refreshToken = localStorage.getItem("refreshToken");
+    refreshPromise = (refreshToken
+      ? axios
+          .post<AuthResponse>(`${API_BASE_URL}/api/admin/auth/refresh`, { refreshToken })
+          .then((response) => {
+            localStorage.setItem("token", response.data.token);
+            localStorage.setItem("refreshToken", response.data.refreshToken);
+            return response.data.token;
+          })
+      : Promise.reject(new Error("No refresh token"))
+    ).finally(() => {
+      refreshPromise = null;
+    });
+  }
+  return refreshPromise;
+};
+
 // Handle auth errors
 apiClient.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response?.status === 401) {
-      if (typeof window !== "undefined") {
-        localStorage.removeItem("token");
-        localStorage.removeItem("user");
-        window.location.href = "/login";
+  async (error) => {
+    const original = error.config as (AxiosRequestConfig & { _retried?: boolean }) | undefined;
+    if (error.response?.status === 401 && typeof window !== "undefined") {
+      if (original && !original._retried && !/\/api\/admin\/auth\/(login|register|refresh|logout)/.test(original.url ?? "")) {
+        original._retried = true;
+        try {
+          // The request interceptor picks up the new token
+          await refreshAccessToken();
+          return apiClient(original);
+        } catch {
+          // Fall through to sign-out
+        }
       }
+      localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
+      localStorage.removeItem("user");
+      window.location.href = "/login";
     }
     return Promise.reject(error);
   }
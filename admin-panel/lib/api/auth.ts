@@ -12,6 +12,10 @@ export const authApi = {
     return response.data;
   },
 
+  logout: async (refreshToken: string | null): Promise<void> => {
+    await apiClient.post("/api/admin/auth/logout", refreshToken ? { refreshToken } : undefined);
+  },
+
   getCurrentUser: async (): Promise<AdminUser> => {
     const response = await apiClient.get<AdminUser>("/api/admin/auth/me");
     return response.data;
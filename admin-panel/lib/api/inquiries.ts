@@ -1,5 +1,5 @@
 import { apiClient } from "../api-client";
-import type { Inquiry, PageResponse } from "@/types";
+import type { BulkRequest, BulkResult, Inquiry, PageResponse } from "@/types";
 
 export interface InquiryFilters {
   fromDate?: string;
@@ -30,4 +30,9 @@ export const inquiriesApi = {
   delete: async (id: number): Promise<void> => {
     await apiClient.delete(`/api/admin/inquiries/${id}`);
   },
+
+  bulk: async (request: BulkRequest): Promise<BulkResult> => {
+    const response = await apiClient.post<BulkResult>("/api/admin/inquiries/bulk", request);
+    return response.data;
+  },
 };
@@ -0,0 +1,9 @@
+import { apiClient } from "../api-client";
+import type { AdminStats } from "@/types";
+
+export const statsApi = {
+  get: async (days: number = 30): Promise<AdminStats> => {
+    const response = await apiClient.get<AdminStats>(`/api/admin/stats?days=${days}`);
+    return response.data;
+  },
+};
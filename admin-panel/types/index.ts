@@ -13,6 +13,8 @@ export interface RegisterRequest {
 export interface AuthResponse {
   token: string;
   type: string;
+  refreshToken: string;
+  expiresIn: number;
   id: number;
   name: string;
   email: string;
@@ -86,6 +88,39 @@ export interface PageResponse<T> {
   total: number;
   page: number;
   totalPages: number;
+  hasNext?: boolean;
+  totalEstimated?: boolean;
+  nextCursor?: string | null;
+}
+
+// Dashboard Types
+export interface DailyCount {
+  date: string;
+  count: number;
+}
+
+export interface AdminStats {
+  totals: Record<string, number>;
+  byDivision: Record<string, Record<string, number>>;
+  days: number;
+  inquiriesPerDay: DailyCount[];
+  applicationsPerDay: DailyCount[];
+}
+
+// Bulk Operation Types
+export interface BulkRequest {
+  action: "delete" | "update";
+  ids?: number[];
+  division?: string;
+  fromDate?: string;
+  toDate?: string;
+  changes?: { division: string };
+}
+
+export interface BulkResult {
+  action: string;
+  affected: number;
+  chunks: number;
 }
 
 // Form Types
@@ -0,0 +1,124 @@
+#!/bin/bash
+
+# Compares platform-thread and virtual-thread request handling on the public list endpoints.
+# Builds the backend with -Pjava21, starts it once per mode against DATABASE_URL, drives every endpoint
+# with wrk and prints requests/sec, p99 latency and errors per endpoint and mode.
+#
+# Requires Java 21, wrk and a reachable, seeded database. Examples:
+#   ./scripts/benchmark-threads.sh
+#   CONNECTIONS=2000 DURATION=60s DB_POOL_SIZE=20 ./scripts/benchmark-threads.sh
+#   CACHES=off ./scripts/benchmark-threads.sh    # every request runs its list query
+#
+# Both modes get the same Hikari connection timeout (CONNECTION_TIMEOUT_MS, default the virtual-threads
+# profile's 5000), so a mode cannot look faster only because it gives up on the pool sooner.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONNECTIONS="${CONNECTIONS:-1000}"
+THREADS="${THREADS:-8}"
+DURATION="${DURATION:-30s}"
+WARMUP="${WARMUP:-10s}"
+PORT="${PORT:-5080}"
+CACHES="${CACHES:-on}"
+CONNECTION_TIMEOUT_MS="${CONNECTION_TIMEOUT_MS:-5000}"
+
+ENDPOINTS=(
+    "/api/news?page=1&limit=10"
+    "/api/case-studies?page=1&limit=10"
+    "/api/case-studies?division=Central%20AC&page=1&limit=10"
+    "/api/testimonials"
+)
+
+for tool in java wrk curl mvn; do
+    if ! command -v "$tool" > /dev/null; then
+        echo "❌ $tool is required" >&2
+        exit 1
+    fi
+done
+
+JAVA_MAJOR=$(java -version 2>&1 | awk -F'"' '/version/ { split($2, v, "."); print v[1]; exit }')
+if [ "${JAVA_MAJOR:-0}" -lt 21 ]; then
+    echo "❌ Java 21 or newer is required (found $JAVA_MAJOR)" >&2
+    exit 1
+fi
+
+# wrk needs one descriptor per connection, and so does Tomcat
+ulimit -n 65536 2> /dev/null || ulimit -n "$(ulimit -Hn)"
+
+echo "📦 Building with -Pjava21..."
+mvn -B -q -Pjava21 -DskipTests package
+JAR=$(ls target/backend-*.jar | grep -v '\.original$' | head -1)
+
+APP_ARGS=(
+    "--server.port=$PORT"
+    "--logging.level.org.hibernate.SQL=WARN"
+    "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    "--spring.datasource.hikari.connection-timeout=$CONNECTION_TIMEOUT_MS"
+)
+if [ "$CACHES" = "off" ]; then
+    APP_ARGS+=("--content-snapshots.enabled=false" "--content-cache.max-size=0")
+fi
+
+RESULTS=$(mktemp)
+APP_PID=""
+trap 'if [ -n "$APP_PID" ]; then kill "$APP_PID" 2> /dev/null || true; fi; rm -f "$RESULTS"' EXIT
+
+start_app() {
+    local mode=$1
+    shift
+    java -jar "$JAR" "${APP_ARGS[@]}" "$@" > "target/benchmark-$mode.log" 2>&1 &
+    APP_PID=$!
+    for _ in $(seq 1 120); do
+        if curl -sf "http://localhost:$PORT/api/testimonials" > /dev/null; then
+            return
+        fi
+        if ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo "❌ Backend exited during startup, see target/benchmark-$mode.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+    echo "❌ Backend did not start within 120s, see target/benchmark-$mode.log" >&2
+    exit 1
+}
+
+stop_app() {
+    kill "$APP_PID" 2> /dev/null || true
+    wait "$APP_PID" 2> /dev/null || true
+    APP_PID=""
+}
+
+run_mode() {
+    local mode=$1
+    shift
+    echo "🚀 Starting backend with $mode threads on port $PORT..."
+    start_app "$mode" "$@"
+
+    for endpoint in "${ENDPOINTS[@]}"; do
+        local url="http://localhost:$PORT$endpoint"
+        wrk -t "$THREADS" -c "$CONNECTIONS" -d "$WARMUP" "$url" > /dev/null
+        local output
+        output=$(wrk -t "$THREADS" -c "$CONNECTIONS" -d "$DURATION" --latency "$url")
+
+        local rps p99 non2xx socket
+        rps=$(awk '/Requests\/sec/ { print $2 }' <<< "$output")
+        p99=$(awk '$1 == "99%" { print $2 }' <<< "$output")
+        non2xx=$(awk '/Non-2xx/ { print $NF }' <<< "$output")
+        socket=$(awk -F'[ ,]+' '/Socket errors/ { print $4 + $6 + $8 + $10 }' <<< "$output")
+        printf "%-8s  %-58s  %12s  %10s  %8s\n" "$mode" "$endpoint" "$rps" "$p99" \
+            "$(( ${non2xx:-0} + ${socket:-0} ))" >> "$RESULTS"
+    done
+
+    stop_app
+}
+
+run_mode platform --spring.threads.virtual.enabled=false
+run_mode virtual --spring.profiles.active=virtual-threads
+
+echo ""
+echo "Connections: $CONNECTIONS, duration: $DURATION per endpoint, caches: $CACHES, pool: ${DB_POOL_SIZE:-10}," \
+    "connection timeout: ${CONNECTION_TIMEOUT_MS}ms"
+printf "%-8s  %-58s  %12s  %10s  %8s\n" "mode" "endpoint" "requests/s" "p99" "errors"
+cat "$RESULTS"
@@ -2,8 +2,10 @@ package com.metropolitan.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MetropolitanBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(MetropolitanBackendApplication.class, args);
@@ -6,6 +6,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class DatabaseSeeder implements CommandLineRunner {
@@ -44,6 +47,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         System.out.println("Seeding database...");
 
         // Seed Case Studies
+        List<CaseStudy> caseStudies = new ArrayList<>();
         for (int i = 0; i < 18; i++) {
             String division = DIVISIONS[i % DIVISIONS.length];
             CaseStudy caseStudy = new CaseStudy();
@@ -54,18 +58,21 @@ public class DatabaseSeeder implements CommandLineRunner {
             caseStudy.setClient("Client " + (i + 1) + " Corp");
             caseStudy.setLocation("Metropolitan Area");
             caseStudy.setCompletionDate("2024");
-            caseStudyService.createCaseStudy(caseStudy);
+            caseStudies.add(caseStudy);
         }
+        caseStudyService.createCaseStudies(caseStudies);
 
         // Seed News
+        List<News> newsItems = new ArrayList<>();
         for (int i = 0; i < 10; i++) {
             News news = new News();
             news.setTitle("Metropolitan News: Expansion into " + DIVISIONS[i % DIVISIONS.length] + " Sector");
             news.setContent("<p>We are expanding our operations to provide even better services in the metropolitan region.</p>");
             news.setImage(SAMPLE_IMAGES[i % SAMPLE_IMAGES.length]);
             news.setSummary("We are thrilled to announce a significant achievement in our ongoing efforts to redefine urban living.");
-            newsService.createNews(news);
+            newsItems.add(news);
         }
+        newsService.createNewsItems(newsItems);
 
         // Seed Testimonials
         String[][] testimonialData = {
@@ -73,6 +80,7 @@ public class DatabaseSeeder implements CommandLineRunner {
             {"Sarah Jane", "Facility Director", "Professional team and great support."}
         };
 
+        List<Testimonial> testimonials = new ArrayList<>();
         for (String division : DIVISIONS) {
             for (String[] data : testimonialData) {
                 Testimonial testimonial = new Testimonial();
@@ -80,9 +88,10 @@ public class DatabaseSeeder implements CommandLineRunner {
                 testimonial.setRole(data[1]);
                 testimonial.setContent(data[2]);
                 testimonial.setDivision(division);
-                testimonialService.createTestimonial(testimonial);
+                testimonials.add(testimonial);
             }
         }
+        testimonialService.createTestimonials(testimonials);
 
         System.out.println("Database seeded successfully.");
     }
@@ -1,5 +1,6 @@
 package com.metropolitan.backend.config;
 
+import com.metropolitan.backend.service.AdminUserDetailsService;
 import com.metropolitan.backend.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,19 +11,19 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final AdminUserDetailsService adminUserDetailsService;
 
     @Override
     protected void doFilterInternal(
@@ -32,7 +33,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Check if Authorization header exists and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -40,19 +40,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Extract JWT token
+        // Verify the token (cached per token) and resolve the admin (cached per email)
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractEmail(jwt);
+        Optional<JwtService.VerifiedToken> verified = jwtService.verify(jwt);
 
-        // Validate token and set authentication
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        if (verified.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<UserDetails> userDetails = adminUserDetailsService.loadPrincipal(verified.get().subject());
 
-            if (jwtService.validateToken(jwt, userDetails.getUsername())) {
+            if (userDetails.isPresent() && userDetails.get().isEnabled()) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        userDetails.get(),
                         null,
-                        userDetails.getAuthorities()
+                        userDetails.get().getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -0,0 +1,59 @@
+package com.metropolitan.backend.config;
+
+import com.metropolitan.backend.repository.CaseStudyRepository;
+import com.metropolitan.backend.repository.NewsRepository;
+import com.metropolitan.backend.service.MediaStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off rewrite of rows that still hold base64 data URLs in their image column.
+ * Rows are loaded one at a time so only a single inline image is in memory at once.
+ */
+@Slf4j
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class MediaMigration implements CommandLineRunner {
+
+    private final CaseStudyRepository caseStudyRepository;
+    private final NewsRepository newsRepository;
+    private final MediaStorageService mediaStorageService;
+
+    @Value("${media.migrate-inline-images:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> caseStudyIds = caseStudyRepository.findIdsWithInlineImage();
+        for (Long id : caseStudyIds) {
+            caseStudyRepository.findById(id).ifPresent(caseStudy -> {
+                caseStudy.setImage(mediaStorageService.externalize(caseStudy.getImage()));
+                caseStudyRepository.save(caseStudy);
+            });
+        }
+
+        List<Long> newsIds = newsRepository.findIdsWithInlineImage();
+        for (Long id : newsIds) {
+            newsRepository.findById(id).ifPresent(news -> {
+                news.setImage(mediaStorageService.externalize(news.getImage()));
+                newsRepository.save(news);
+            });
+        }
+
+        if (!caseStudyIds.isEmpty() || !newsIds.isEmpty()) {
+            log.info("Moved inline images to media store: {} case studies, {} news items",
+                    caseStudyIds.size(), newsIds.size());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.metropolitan.backend.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -15,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -42,9 +44,12 @@ public class SecurityConfig {
                                 "/api/case-studies/**",
                                 "/api/news/**",
                                 "/api/testimonials/**",
+                                "/api/media/**",
                                 "/api/inquiries",
                                 "/api/careers/apply"
                         ).permitAll()
+                        // Revoking arbitrary tokens is for signed-in admins
+                        .requestMatchers("/api/admin/auth/revoke").authenticated()
                         // Admin auth endpoints - no authentication required
                         .requestMatchers("/api/admin/auth/**").permitAll()
                         // All other admin endpoints require authentication
@@ -55,6 +60,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                // Missing, expired and revoked tokens answer 401 so clients know to refresh
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+                )
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -0,0 +1,63 @@
+package com.metropolitan.backend.controller;
+
+import com.metropolitan.backend.dto.AnalyticsSeries;
+import com.metropolitan.backend.dto.Granularity;
+import com.metropolitan.backend.service.StatsService;
+import com.metropolitan.backend.service.SubmissionAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AdminAnalyticsController {
+
+    private final SubmissionAnalyticsService submissionAnalyticsService;
+
+    @GetMapping("/inquiries")
+    public ResponseEntity<?> getInquiryAnalytics(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String division
+    ) {
+        return series(StatsService.Counter.INQUIRIES, granularity, from, to, division);
+    }
+
+    @GetMapping("/job-applications")
+    public ResponseEntity<?> getJobApplicationAnalytics(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return series(StatsService.Counter.JOB_APPLICATIONS, granularity, from, to, null);
+    }
+
+    private ResponseEntity<?> series(
+            StatsService.Counter counter,
+            String granularity,
+            LocalDateTime from,
+            LocalDateTime to,
+            String division
+    ) {
+        try {
+            // Defaults to the last 30 days
+            LocalDateTime end = to != null ? to : LocalDateTime.now();
+            LocalDateTime start = from != null ? from : end.minusDays(30);
+            AnalyticsSeries response = submissionAnalyticsService.series(
+                    counter, Granularity.fromParam(granularity), start, end, division);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
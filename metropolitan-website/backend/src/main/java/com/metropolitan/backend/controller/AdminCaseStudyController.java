@@ -1,9 +1,17 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.BulkRequest;
+import com.metropolitan.backend.dto.BulkResult;
 import com.metropolitan.backend.dto.ErrorResponse;
+import com.metropolitan.backend.dto.ImportFormat;
+import com.metropolitan.backend.dto.ImportReport;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.service.BulkOperationService;
 import com.metropolitan.backend.service.CaseStudyService;
+import com.metropolitan.backend.service.ContentImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -13,6 +21,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,19 +34,31 @@ import java.util.Map;
 public class AdminCaseStudyController {
 
     private final CaseStudyService caseStudyService;
+    private final BulkOperationService bulkOperationService;
+    private final ContentImportService contentImportService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<CaseStudy>> getCaseStudies(
+    public ResponseEntity<?> getCaseStudies(
             @RequestParam(required = false) String division,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "20") int limit
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "exact") String total
     ) {
-        PageResponse<CaseStudy> response = caseStudyService.getCaseStudiesWithFilters(
-                division, fromDate, toDate, page, limit
-        );
-        return ResponseEntity.ok(response);
+        try {
+            TotalMode totalMode = TotalMode.fromParam(total);
+            PageResponse<CaseStudy> response = cursor != null
+                    ? caseStudyService.getCaseStudiesAfterCursor(division, fromDate, toDate, sort, cursor, totalMode, PageResponse.clampLimit(limit))
+                    : caseStudyService.getCaseStudiesWithFilters(division, fromDate, toDate, sort, totalMode, PageResponse.clampPage(page), PageResponse.clampLimit(limit));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/{id}")
@@ -59,6 +81,25 @@ public class AdminCaseStudyController {
         }
     }
 
+    /**
+     * Streams a CSV (with header row) or NDJSON body into the table; see {@link ContentImportService}.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importCaseStudies(
+            HttpServletRequest request,
+            @RequestParam(required = false) String format
+    ) {
+        try {
+            ImportFormat importFormat = ImportFormat.resolve(format, request.getContentType());
+            ImportReport report = contentImportService.importCaseStudies(request.getInputStream(), importFormat);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException | IOException | UncheckedIOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateCaseStudy(
             @PathVariable Long id,
@@ -74,6 +115,18 @@ public class AdminCaseStudyController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulk(@RequestBody BulkRequest request) {
+        try {
+            BulkResult result = bulkOperationService.apply(BulkOperationService.Target.CASE_STUDIES, request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCaseStudy(@PathVariable Long id) {
         try {
@@ -1,8 +1,12 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.BulkRequest;
+import com.metropolitan.backend.dto.BulkResult;
 import com.metropolitan.backend.dto.ErrorResponse;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.JobApplication;
+import com.metropolitan.backend.service.BulkOperationService;
 import com.metropolitan.backend.service.JobApplicationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -21,18 +25,29 @@ import java.util.Map;
 public class AdminJobApplicationController {
 
     private final JobApplicationService jobApplicationService;
+    private final BulkOperationService bulkOperationService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<JobApplication>> getJobApplications(
+    public ResponseEntity<?> getJobApplications(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "20") int limit
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "exact") String total
     ) {
-        PageResponse<JobApplication> response = jobApplicationService.getJobApplicationsWithFilters(
-                fromDate, toDate, page, limit
-        );
-        return ResponseEntity.ok(response);
+        try {
+            TotalMode totalMode = TotalMode.fromParam(total);
+            PageResponse<JobApplication> response = cursor != null
+                    ? jobApplicationService.getJobApplicationsAfterCursor(fromDate, toDate, sort, cursor, totalMode, PageResponse.clampLimit(limit))
+                    : jobApplicationService.getJobApplicationsWithFilters(fromDate, toDate, sort, totalMode, PageResponse.clampPage(page), PageResponse.clampLimit(limit));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/{id}")
@@ -43,6 +58,18 @@ public class AdminJobApplicationController {
                         .body(ErrorResponse.of("Job Application not found")));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulk(@RequestBody BulkRequest request) {
+        try {
+            BulkResult result = bulkOperationService.apply(BulkOperationService.Target.JOB_APPLICATIONS, request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteJobApplication(@PathVariable Long id) {
         try {
@@ -0,0 +1,56 @@
+package com.metropolitan.backend.controller;
+
+import com.metropolitan.backend.service.ContentCache;
+import com.metropolitan.backend.service.HibernateStatisticsService;
+import com.metropolitan.backend.service.JwtService;
+import com.metropolitan.backend.service.LoginThrottle;
+import com.metropolitan.backend.service.PasswordHashingService;
+import com.metropolitan.backend.service.SubmissionIngestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AdminMetricsController {
+
+    private final ContentCache contentCache;
+    private final HibernateStatisticsService hibernateStatisticsService;
+    private final SubmissionIngestionService submissionIngestionService;
+    private final JwtService jwtService;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(contentCache.stats());
+    }
+
+    @GetMapping("/hibernate-cache")
+    public ResponseEntity<Map<String, Object>> getHibernateCacheStats() {
+        return ResponseEntity.ok(hibernateStatisticsService.cacheStats());
+    }
+
+    @GetMapping("/ingestion")
+    public ResponseEntity<Map<String, Object>> getIngestionStats() {
+        return ResponseEntity.ok(submissionIngestionService.stats());
+    }
+
+    @GetMapping("/token-cache")
+    public ResponseEntity<Map<String, Object>> getTokenCacheStats() {
+        return ResponseEntity.ok(jwtService.stats());
+    }
+
+    @GetMapping("/login")
+    public ResponseEntity<Map<String, Object>> getLoginStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hashing", passwordHashingService.stats());
+        stats.put("throttle", loginThrottle.stats());
+        return ResponseEntity.ok(stats);
+    }
+}
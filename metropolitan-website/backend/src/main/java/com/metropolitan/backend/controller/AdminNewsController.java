@@ -1,9 +1,17 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.BulkRequest;
+import com.metropolitan.backend.dto.BulkResult;
 import com.metropolitan.backend.dto.ErrorResponse;
+import com.metropolitan.backend.dto.ImportFormat;
+import com.metropolitan.backend.dto.ImportReport;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.News;
+import com.metropolitan.backend.service.BulkOperationService;
+import com.metropolitan.backend.service.ContentImportService;
 import com.metropolitan.backend.service.NewsService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -13,6 +21,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,16 +34,30 @@ import java.util.Map;
 public class AdminNewsController {
 
     private final NewsService newsService;
+    private final BulkOperationService bulkOperationService;
+    private final ContentImportService contentImportService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<News>> getNews(
+    public ResponseEntity<?> getNews(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "20") int limit
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "exact") String total
     ) {
-        PageResponse<News> response = newsService.getNewsWithFilters(fromDate, toDate, page, limit);
-        return ResponseEntity.ok(response);
+        try {
+            TotalMode totalMode = TotalMode.fromParam(total);
+            PageResponse<News> response = cursor != null
+                    ? newsService.getNewsAfterCursor(fromDate, toDate, sort, cursor, totalMode, PageResponse.clampLimit(limit))
+                    : newsService.getNewsWithFilters(fromDate, toDate, sort, totalMode, PageResponse.clampPage(page), PageResponse.clampLimit(limit));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/{id}")
@@ -56,6 +80,25 @@ public class AdminNewsController {
         }
     }
 
+    /**
+     * Streams a CSV (with header row) or NDJSON body into the table; see {@link ContentImportService}.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importNews(
+            HttpServletRequest request,
+            @RequestParam(required = false) String format
+    ) {
+        try {
+            ImportFormat importFormat = ImportFormat.resolve(format, request.getContentType());
+            ImportReport report = contentImportService.importNews(request.getInputStream(), importFormat);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException | IOException | UncheckedIOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateNews(
             @PathVariable Long id,
@@ -71,6 +114,18 @@ public class AdminNewsController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulk(@RequestBody BulkRequest request) {
+        try {
+            BulkResult result = bulkOperationService.apply(BulkOperationService.Target.NEWS, request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteNews(@PathVariable Long id) {
         try {
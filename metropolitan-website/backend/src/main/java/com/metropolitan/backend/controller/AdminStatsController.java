@@ -0,0 +1,23 @@
+package com.metropolitan.backend.controller;
+
+import com.metropolitan.backend.dto.AdminStats;
+import com.metropolitan.backend.service.StatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AdminStatsController {
+
+    private static final int MAX_DAYS = 365;
+
+    private final StatsService statsService;
+
+    @GetMapping
+    public ResponseEntity<AdminStats> getStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(statsService.getStats(Math.max(1, Math.min(MAX_DAYS, days))));
+    }
+}
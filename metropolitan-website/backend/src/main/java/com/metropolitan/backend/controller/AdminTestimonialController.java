@@ -1,8 +1,12 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.BulkRequest;
+import com.metropolitan.backend.dto.BulkResult;
 import com.metropolitan.backend.dto.ErrorResponse;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.Testimonial;
+import com.metropolitan.backend.service.BulkOperationService;
 import com.metropolitan.backend.service.TestimonialService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,19 +28,30 @@ import java.util.Map;
 public class AdminTestimonialController {
 
     private final TestimonialService testimonialService;
+    private final BulkOperationService bulkOperationService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<Testimonial>> getTestimonials(
+    public ResponseEntity<?> getTestimonials(
             @RequestParam(required = false) String division,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "20") int limit
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "exact") String total
     ) {
-        PageResponse<Testimonial> response = testimonialService.getTestimonialsWithFilters(
-                division, fromDate, toDate, page, limit
-        );
-        return ResponseEntity.ok(response);
+        try {
+            TotalMode totalMode = TotalMode.fromParam(total);
+            PageResponse<Testimonial> response = cursor != null
+                    ? testimonialService.getTestimonialsAfterCursor(division, fromDate, toDate, sort, cursor, totalMode, PageResponse.clampLimit(limit))
+                    : testimonialService.getTestimonialsWithFilters(division, fromDate, toDate, sort, totalMode, PageResponse.clampPage(page), PageResponse.clampLimit(limit));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/{id}")
@@ -74,6 +89,18 @@ public class AdminTestimonialController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulk(@RequestBody BulkRequest request) {
+        try {
+            BulkResult result = bulkOperationService.apply(BulkOperationService.Target.TESTIMONIALS, request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTestimonial(@PathVariable Long id) {
         try {
@@ -0,0 +1,55 @@
+package com.metropolitan.backend.controller;
+
+import com.metropolitan.backend.dto.AdminUserResponse;
+import com.metropolitan.backend.model.AdminUser;
+import com.metropolitan.backend.service.AuthService;
+import com.metropolitan.backend.service.LastLoginBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AdminUserController {
+
+    private final AuthService authService;
+    private final LastLoginBuffer lastLoginBuffer;
+
+    @PutMapping("/{id}/active")
+    public ResponseEntity<?> setActive(@PathVariable Long id, @RequestBody Map<String, Boolean> body) {
+        Boolean active = body.get("active");
+        if (active == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "active is required");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        try {
+            String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+            AdminUser admin = authService.setActive(id, active, currentEmail);
+            return ResponseEntity.ok(new AdminUserResponse(
+                    admin.getId(),
+                    admin.getName(),
+                    admin.getEmail(),
+                    admin.getCreatedAt(),
+                    lastLoginBuffer.latest(admin),
+                    admin.getIsActive()
+            ));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+}
@@ -3,13 +3,20 @@ package com.metropolitan.backend.controller;
 import com.metropolitan.backend.dto.AdminUserResponse;
 import com.metropolitan.backend.dto.AuthResponse;
 import com.metropolitan.backend.dto.LoginRequest;
+import com.metropolitan.backend.dto.RefreshRequest;
 import com.metropolitan.backend.dto.RegisterRequest;
+import com.metropolitan.backend.dto.RevokeRequest;
 import com.metropolitan.backend.model.AdminUser;
 import com.metropolitan.backend.service.AuthService;
+import com.metropolitan.backend.service.LastLoginBuffer;
+import com.metropolitan.backend.service.LoginThrottledException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.FieldError;
@@ -18,6 +25,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/admin/auth")
@@ -26,6 +36,7 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final LastLoginBuffer lastLoginBuffer;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
@@ -40,10 +51,39 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        // The client's address, not the load balancer's: the remote IP valve applies X-Forwarded-For from trusted proxies
+        return authService.login(request, httpRequest.getRemoteAddr())
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(throwable -> {
+                    Throwable e = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause()
+                            : throwable;
+                    Map<String, String> error = new HashMap<>();
+                    if (e instanceof LoginThrottledException throttled) {
+                        error.put("message", throttled.getMessage());
+                        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttled.getRetryAfterSeconds()))
+                                .body(error);
+                    }
+                    if (e instanceof RejectedExecutionException) {
+                        error.put("message", "Too many login attempts in progress, please try again shortly");
+                        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(error);
+                    }
+                    error.put("message", e.getMessage());
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+                });
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest request) {
         try {
-            AuthResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -51,10 +91,39 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestBody(required = false) RefreshRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+    ) {
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<Map<String, String>> revoke(@Valid @RequestBody RevokeRequest request) {
+        Map<String, String> response = new HashMap<>();
+        if (!authService.revoke(request.getToken())) {
+            response.put("message", "Token is invalid or expired");
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("message", "Token revoked successfully");
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentAdmin() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            // Expired or revoked access tokens leave the request unauthenticated
+            if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Not authenticated");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+            }
             String email = authentication.getName();
 
             AdminUser admin = authService.getAdminByEmail(email);
@@ -64,7 +133,7 @@ public class AuthController {
                     admin.getName(),
                     admin.getEmail(),
                     admin.getCreatedAt(),
-                    admin.getLastLogin(),
+                    lastLoginBuffer.latest(admin),
                     admin.getIsActive()
             );
 
@@ -1,9 +1,12 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.SubmissionAccepted;
 import com.metropolitan.backend.model.JobApplication;
 import com.metropolitan.backend.service.JobApplicationService;
+import com.metropolitan.backend.service.SubmissionIngestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -12,6 +15,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/careers")
@@ -20,9 +25,23 @@ import java.util.Map;
 public class CareerController {
 
     private final JobApplicationService jobApplicationService;
+    private final SubmissionIngestionService submissionIngestionService;
 
     @PostMapping("/apply")
-    public ResponseEntity<JobApplication> applyForJob(@Valid @RequestBody JobApplication jobApplication) {
+    public ResponseEntity<?> applyForJob(@Valid @RequestBody JobApplication jobApplication) {
+        if (submissionIngestionService.isAsync()) {
+            try {
+                UUID submissionId = submissionIngestionService.submitJobApplication(jobApplication);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(SubmissionAccepted.of(submissionId));
+            } catch (RejectedExecutionException e) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Too many submissions, please try again shortly");
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .body(error);
+            }
+        }
+
         JobApplication created = jobApplicationService.createJobApplication(jobApplication);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
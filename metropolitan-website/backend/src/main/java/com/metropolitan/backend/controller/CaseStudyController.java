@@ -1,12 +1,19 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.ContentVersion;
+import com.metropolitan.backend.dto.DivisionFacets;
 import com.metropolitan.backend.dto.ErrorResponse;
 import com.metropolitan.backend.dto.PageResponse;
-import com.metropolitan.backend.model.CaseStudy;
 import com.metropolitan.backend.service.CaseStudyService;
+import com.metropolitan.backend.service.ContentCache;
+import com.metropolitan.backend.service.ContentSnapshotService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/case-studies")
@@ -15,21 +22,52 @@ import org.springframework.web.bind.annotation.*;
 public class CaseStudyController {
 
     private final CaseStudyService caseStudyService;
+    private final ContentSnapshotService contentSnapshotService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<CaseStudy>> getCaseStudies(
+    public ResponseEntity<byte[]> getCaseStudies(
             @RequestParam(required = false) String division,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request
     ) {
-        PageResponse<CaseStudy> response = caseStudyService.getCaseStudies(division, page, limit);
-        return ResponseEntity.ok(response);
+        int pageNumber = PageResponse.clampPage(page);
+        int pageSize = PageResponse.clampLimit(limit);
+        ContentSnapshotService.Snapshot snapshot = contentSnapshotService.get(
+                ContentCache.Key.of(ContentCache.Region.CASE_STUDIES, division, pageNumber, pageSize),
+                "case-studies",
+                () -> caseStudyService.getCaseStudiesVersion(division),
+                () -> caseStudyService.getCaseStudies(division, pageNumber, pageSize)
+        );
+        return contentSnapshotService.respond(snapshot, request);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<DivisionFacets> getFacets(WebRequest request) {
+        ContentVersion version = caseStudyService.getCaseStudiesVersion(null);
+        if (request.checkNotModified(version.toETag("case-study-facets"), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(caseStudyService.getDivisionFacets());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getCaseStudy(@PathVariable Long id) {
+    public ResponseEntity<Object> getCaseStudy(@PathVariable Long id, WebRequest request) {
+        Optional<ContentVersion> version = caseStudyService.getCaseStudyVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.status(404).body(ErrorResponse.of("Case Study not found"));
+        }
+        if (request.checkNotModified(version.get().toETag("case-study-" + id), version.get().lastModifiedMillis())) {
+            return null;
+        }
+
         return caseStudyService.getCaseStudy(id)
-                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .<ResponseEntity<Object>>map(caseStudy -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .body(caseStudy))
                 .orElse(ResponseEntity.status(404)
                         .body(ErrorResponse.of("Case Study not found")));
     }
@@ -0,0 +1,253 @@
+package com.metropolitan.backend.controller;
+
+import com.metropolitan.backend.dto.ErrorResponse;
+import com.metropolitan.backend.service.ImageTooLargeException;
+import com.metropolitan.backend.service.MediaStorageService;
+import com.metropolitan.backend.service.MediaVariantService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class MediaController {
+
+    // Media is content-addressed, so a given URL never changes
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final MediaStorageService mediaStorageService;
+    private final MediaVariantService mediaVariantService;
+
+    /**
+     * Streams the file, or a resized variant when {@code w} is given. A variant that still has to be
+     * resized is answered through the returned {@link CompletableFuture}, so the request thread is released
+     * while the media pool works; later requests find the variant on disk and stream it directly.
+     */
+    @GetMapping("/{hash}")
+    public Object getMedia(
+            @PathVariable String hash,
+            @RequestParam(required = false) Integer w,
+            @RequestParam(required = false) Integer q,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Optional<Path> file = mediaStorageService.find(hash);
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ErrorResponse.of("Media not found"));
+        }
+
+        Path path = file.get();
+        String etag = "\"" + hash + "\"";
+
+        if (w != null) {
+            int width = Math.max(MediaVariantService.MIN_WIDTH, Math.min(MediaVariantService.MAX_WIDTH, w));
+            int quality = q != null ? Math.max(1, Math.min(100, q)) : MediaVariantService.DEFAULT_QUALITY;
+            String variantEtag = "\"" + MediaVariantService.variantKey(hash, width, quality) + "\"";
+            if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), variantEtag)) {
+                return notModified(variantEtag);
+            }
+
+            Path source = path;
+            String sourceEtag = etag;
+            CompletableFuture<Path> pending = mediaVariantService.getVariant(hash, source, width, quality);
+            if (!pending.isDone()) {
+                return pending.handle((variant, error) -> error != null
+                        ? resizeFailed(hash, error)
+                        : fileResponse(variant, variant.equals(source) ? sourceEtag : variantEtag));
+            }
+
+            try {
+                Path variant = pending.join();
+                if (!variant.equals(path)) {
+                    path = variant;
+                    etag = variantEtag;
+                }
+            } catch (CompletionException e) {
+                return resizeFailed(hash, e.getCause());
+            }
+        }
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return notModified(etag);
+        }
+
+        streamFile(path, mediaStorageService.detectContentType(path), etag, request, response);
+        return null;
+    }
+
+    // Used once per variant, when it was just resized; range requests are handled by Spring's resource support
+    private ResponseEntity<?> fileResponse(Path path, String etag) {
+        try {
+            String contentType = mediaStorageService.detectContentType(path);
+            return ResponseEntity.ok()
+                    .headers(mediaHeaders(contentType, etag))
+                    .body(new FileSystemResource(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read media " + path.getFileName(), e);
+        }
+    }
+
+    private static ResponseEntity<?> resizeFailed(String hash, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            return serviceUnavailable();
+        }
+        if (cause instanceof ImageTooLargeException) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ErrorResponse.of(cause.getMessage()));
+        }
+        log.error("Failed to resize media {}", hash, cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ErrorResponse.of("Failed to resize media"));
+    }
+
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                .build();
+    }
+
+    private static ResponseEntity<?> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of("Image resizing is busy, please retry"));
+    }
+
+    private static HttpHeaders mediaHeaders(String contentType, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+        headers.set(HttpHeaders.ETAG, etag);
+        headers.set(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.set("X-Content-Type-Options", "nosniff");
+        // Media is served from the API origin, so nothing in it may run script there
+        headers.set("Content-Security-Policy", "default-src 'none'; style-src 'unsafe-inline'; sandbox");
+        if (!MediaStorageService.isSafeInline(contentType)) {
+            // <img> still renders it, but opening the URL directly downloads instead of rendering
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+        }
+        return headers;
+    }
+
+    private static void streamFile(
+            Path path,
+            String contentType,
+            String etag,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            long end = size - 1;
+
+            mediaHeaders(contentType, etag).forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (range != null && (ifRange == null || ifRange.equals(etag))) {
+                long[] bounds = parseRange(range, size);
+                if (bounds == null) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            }
+
+            long remaining = end - start + 1;
+            response.setContentLengthLong(remaining);
+            if ("HEAD".equals(request.getMethod())) {
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * Returns {start, end} for a single satisfiable range, an empty array when the header should be
+     * ignored (multiple or malformed ranges, served as a full 200), or null when unsatisfiable.
+     */
+    private static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
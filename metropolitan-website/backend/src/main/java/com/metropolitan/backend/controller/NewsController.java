@@ -1,12 +1,18 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.ContentVersion;
 import com.metropolitan.backend.dto.ErrorResponse;
 import com.metropolitan.backend.dto.PageResponse;
-import com.metropolitan.backend.model.News;
+import com.metropolitan.backend.service.ContentCache;
+import com.metropolitan.backend.service.ContentSnapshotService;
 import com.metropolitan.backend.service.NewsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/news")
@@ -15,20 +21,40 @@ import org.springframework.web.bind.annotation.*;
 public class NewsController {
 
     private final NewsService newsService;
+    private final ContentSnapshotService contentSnapshotService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<News>> getNews(
+    public ResponseEntity<byte[]> getNews(
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request
     ) {
-        PageResponse<News> response = newsService.getNews(page, limit);
-        return ResponseEntity.ok(response);
+        int pageNumber = PageResponse.clampPage(page);
+        int pageSize = PageResponse.clampLimit(limit);
+        // Revalidation only costs the version query; the page is rendered once per content version
+        ContentSnapshotService.Snapshot snapshot = contentSnapshotService.get(
+                ContentCache.Key.of(ContentCache.Region.NEWS, null, pageNumber, pageSize),
+                "news",
+                newsService::getNewsVersion,
+                () -> newsService.getNews(pageNumber, pageSize)
+        );
+        return contentSnapshotService.respond(snapshot, request);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getNewsItem(@PathVariable Long id) {
+    public ResponseEntity<Object> getNewsItem(@PathVariable Long id, WebRequest request) {
+        Optional<ContentVersion> version = newsService.getNewsItemVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.status(404).body(ErrorResponse.of("News item not found"));
+        }
+        if (request.checkNotModified(version.get().toETag("news-" + id), version.get().lastModifiedMillis())) {
+            return null;
+        }
+
         return newsService.getNewsItem(id)
-                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .<ResponseEntity<Object>>map(news -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .body(news))
                 .orElse(ResponseEntity.status(404)
                         .body(ErrorResponse.of("News item not found")));
     }
@@ -1,13 +1,16 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.ContentVersion;
+import com.metropolitan.backend.dto.DivisionFacets;
 import com.metropolitan.backend.dto.PageResponse;
-import com.metropolitan.backend.model.Testimonial;
+import com.metropolitan.backend.service.ContentCache;
+import com.metropolitan.backend.service.ContentSnapshotService;
 import com.metropolitan.backend.service.TestimonialService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/testimonials")
@@ -16,20 +19,46 @@ import java.util.List;
 public class TestimonialController {
 
     private final TestimonialService testimonialService;
+    private final ContentSnapshotService contentSnapshotService;
 
     @GetMapping
-    public ResponseEntity<?> getTestimonials(
+    public ResponseEntity<byte[]> getTestimonials(
             @RequestParam(required = false) String division,
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer limit
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
     ) {
         // Support both paginated and non-paginated requests for backwards compatibility
+        ContentSnapshotService.Snapshot snapshot;
         if (page != null && limit != null) {
-            PageResponse<Testimonial> response = testimonialService.getTestimonials(division, page, limit);
-            return ResponseEntity.ok(response);
+            int pageNumber = PageResponse.clampPage(page);
+            int pageSize = PageResponse.clampLimit(limit);
+            snapshot = contentSnapshotService.get(
+                    ContentCache.Key.of(ContentCache.Region.TESTIMONIALS, division, pageNumber, pageSize),
+                    "testimonials",
+                    () -> testimonialService.getTestimonialsVersion(division),
+                    () -> testimonialService.getTestimonials(division, pageNumber, pageSize)
+            );
         } else {
-            List<Testimonial> testimonials = testimonialService.getTestimonialsNonPaginated(division);
-            return ResponseEntity.ok(testimonials);
+            snapshot = contentSnapshotService.get(
+                    ContentCache.Key.of(ContentCache.Region.TESTIMONIALS, division, 0, 0),
+                    "testimonials",
+                    () -> testimonialService.getTestimonialsVersion(division),
+                    () -> testimonialService.getTestimonialsNonPaginated(division)
+            );
         }
+        return contentSnapshotService.respond(snapshot, request);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<DivisionFacets> getFacets(WebRequest request) {
+        ContentVersion version = testimonialService.getTestimonialsVersion(null);
+        if (request.checkNotModified(version.toETag("testimonial-facets"), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(testimonialService.getDivisionFacets());
     }
 }
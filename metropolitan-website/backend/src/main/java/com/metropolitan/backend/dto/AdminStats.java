@@ -0,0 +1,20 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminStats {
+    // Keyed by entity: caseStudies, news, testimonials, inquiries, jobApplications
+    private Map<String, Long> totals;
+    private Map<String, Map<String, Long>> byDivision;
+    private int days;
+    private List<DailyCount> inquiriesPerDay;
+    private List<DailyCount> applicationsPerDay;
+}
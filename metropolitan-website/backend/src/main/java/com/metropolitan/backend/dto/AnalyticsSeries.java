@@ -0,0 +1,24 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Submission counts over [from, to). Buckets are labelled with their aligned start; the first and
+ * last only count the part of the bucket that falls inside the range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSeries {
+    private Granularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String division;
+    private long total;
+    private List<BucketCount> buckets;
+}
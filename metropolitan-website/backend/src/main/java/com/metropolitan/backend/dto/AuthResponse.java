@@ -10,12 +10,16 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
+    private long expiresIn;
     private Long id;
     private String name;
     private String email;
 
-    public AuthResponse(String token, Long id, String name, String email) {
+    public AuthResponse(String token, String refreshToken, long expiresIn, Long id, String name, String email) {
         this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
         this.id = id;
         this.name = name;
         this.email = email;
@@ -0,0 +1,15 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BucketCount {
+    private LocalDateTime start;
+    private long count;
+}
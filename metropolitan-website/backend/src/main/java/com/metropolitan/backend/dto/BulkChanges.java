@@ -0,0 +1,12 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkChanges {
+    private String division;
+}
@@ -0,0 +1,25 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Body of {@code POST /api/admin/{entity}/bulk}. Rows are selected by {@code ids}, by the filter fields,
+ * or by both (ids that also match the filter).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRequest {
+    // "delete" or "update"
+    private String action;
+    private long[] ids;
+    private String division;
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+    // Required for "update"
+    private BulkChanges changes;
+}
@@ -0,0 +1,25 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseStudySummary {
+
+    public static final int EXCERPT_LENGTH = 300;
+
+    private Long id;
+    private String title;
+    private String description;  // Truncated excerpt for list cards
+    private String image;
+    private String division;
+    private String client;
+    private String location;
+    private String completionDate;
+    private LocalDateTime createdAt;
+}
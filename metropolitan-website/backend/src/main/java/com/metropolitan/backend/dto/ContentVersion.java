@@ -0,0 +1,36 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for a public resource, read without loading the rows themselves. For a single item
+ * {@code version} is the entity's optimistic-lock version; for a list it is the row count of the filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentVersion {
+    private Long version;
+    private LocalDateTime lastModified;
+
+    public String toETag(String resource) {
+        long modified = lastModified != null ? toEpochMillis(lastModified) : 0;
+        return "\"" + resource + "-" + (version != null ? version : 0) + "-" + modified + "\"";
+    }
+
+    /**
+     * Returns -1 when unknown, which {@code WebRequest.checkNotModified} treats as "no Last-Modified".
+     */
+    public long lastModifiedMillis() {
+        return lastModified != null ? toEpochMillis(lastModified) : -1;
+    }
+
+    private static long toEpochMillis(LocalDateTime value) {
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,46 @@
+package com.metropolitan.backend.dto;
+
+import com.metropolitan.backend.model.Division;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-division counts keyed by display name, the same value the {@code division} filter accepts. Rows without
+ * a division, or with a stored name that isn't a known division, are counted in {@code other}, so {@code total}
+ * is always the number of rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DivisionFacets {
+    private long total;
+    private Map<String, Long> counts;
+    private long other;
+
+    /**
+     * Folds GROUP BY rows into one slot per division, with 0 for divisions that have no rows.
+     */
+    public static DivisionFacets of(List<DivisionCount> rows) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Division division : Division.values()) {
+            counts.put(division.getDisplayName(), 0L);
+        }
+        long total = 0;
+        long other = 0;
+        for (DivisionCount row : rows) {
+            total += row.getCount();
+            Division division = Division.fromDisplayName(row.getDivision());
+            if (division != null) {
+                counts.put(division.getDisplayName(), row.getCount());
+            } else {
+                other += row.getCount();
+            }
+        }
+        return new DivisionFacets(total, counts, other);
+    }
+}
@@ -0,0 +1,64 @@
+package com.metropolitan.backend.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket sizes kept by the submission analytics, finest first. Weeks start on Monday, matching
+ * PostgreSQL's {@code date_trunc('week', ...)}.
+ */
+public enum Granularity {
+    HOUR("hour"),
+    DAY("day"),
+    WEEK("week");
+
+    private final String sqlUnit;
+
+    Granularity(String sqlUnit) {
+        this.sqlUnit = sqlUnit;
+    }
+
+    public String getSqlUnit() {
+        return sqlUnit;
+    }
+
+    public LocalDateTime truncate(LocalDateTime value) {
+        switch (this) {
+            case HOUR:
+                return value.truncatedTo(ChronoUnit.HOURS);
+            case DAY:
+                return value.truncatedTo(ChronoUnit.DAYS);
+            default:
+                return value.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        switch (this) {
+            case HOUR:
+                return bucketStart.plusHours(1);
+            case DAY:
+                return bucketStart.plusDays(1);
+            default:
+                return bucketStart.plusWeeks(1);
+        }
+    }
+
+    public boolean isAligned(LocalDateTime value) {
+        return truncate(value).equals(value);
+    }
+
+    public static Granularity fromParam(String value) {
+        if (value == null || value.isEmpty()) {
+            return DAY;
+        }
+        for (Granularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new IllegalArgumentException("Invalid granularity: " + value + " (expected hour, day or week)");
+    }
+}
@@ -0,0 +1,15 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+    // Line of the record in the uploaded file (1-based; the CSV header is line 1)
+    private long line;
+    private String field;
+    private String message;
+}
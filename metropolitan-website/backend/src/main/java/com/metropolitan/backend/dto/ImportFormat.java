@@ -0,0 +1,32 @@
+package com.metropolitan.backend.dto;
+
+/**
+ * Body format of a bulk import: CSV with a header row, or one JSON object per line.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * Uses the explicit {@code format} parameter when given, otherwise the request content type.
+     */
+    public static ImportFormat resolve(String param, String contentType) {
+        if (param != null && !param.isEmpty()) {
+            for (ImportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(param)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Invalid import format: " + param + " (expected csv or ndjson)");
+        }
+        String type = contentType != null ? contentType.toLowerCase() : "";
+        if (type.contains("csv")) {
+            return CSV;
+        }
+        if (type.contains("ndjson") || type.contains("jsonl") || type.contains("json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported content type for import: " + contentType +
+                " (use text/csv or application/x-ndjson)");
+    }
+}
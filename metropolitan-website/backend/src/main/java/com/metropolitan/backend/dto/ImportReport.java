@@ -0,0 +1,22 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private long received;
+    private long imported;
+    // Valid rows whose title already exists (in the same division, for case studies) or repeats an earlier row
+    private long skipped;
+    private List<ImportError> skippedRows;
+    private boolean skippedRowsTruncated;
+    private long failed;
+    private List<ImportError> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,20 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsSummary {
+    private Long id;
+    private String title;
+    private String summary;
+    private String image;
+    private LocalDate date;
+    private LocalDateTime createdAt;
+}
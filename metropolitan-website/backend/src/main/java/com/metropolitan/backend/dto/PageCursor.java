@@ -0,0 +1,46 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row on a keyset page: the sort it was issued for (in {@code sort} parameter form), the
+ * sort column value, and the id as a tie-breaker. Clients only ever see the opaque encoded form.
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+    private String sort;
+    private LocalDateTime position;
+    private Long id;
+
+    public String encode() {
+        String raw = sort + "|" + position + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor received from a client. An empty value means "start from the first row" and
+     * yields null; anything malformed is rejected with an IllegalArgumentException.
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(parts[0], LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
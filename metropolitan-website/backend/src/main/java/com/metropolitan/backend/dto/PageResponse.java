@@ -3,20 +3,92 @@ package com.metropolitan.backend.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PageResponse<T> {
+
+    public static final int MAX_LIMIT = 100;
+
     private List<T> data;
-    private long total;
+    private Long total;          // null when the total was not requested (total=none)
     private int page;
-    private int totalPages;
+    private Integer totalPages;
+    private boolean hasNext;
+    private boolean totalEstimated;
+    private String nextCursor;
+
+    /**
+     * Builds a response from a Spring Data page, reusing the count it already ran.
+     */
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(
+                page.getContent(),
+                page.getTotalElements(),
+                page.getNumber() + 1,
+                page.getTotalPages(),
+                page.hasNext(),
+                false,
+                null
+        );
+    }
+
+    /**
+     * Builds a response from a slice (which never counts) plus a separately resolved total.
+     */
+    public static <T> PageResponse<T> of(Slice<T> slice, Long total, boolean totalEstimated) {
+        Integer totalPages = total != null ? totalPages(total, slice.getSize()) : null;
+        return new PageResponse<>(
+                slice.getContent(),
+                total,
+                slice.getNumber() + 1,
+                totalPages,
+                slice.hasNext(),
+                totalEstimated,
+                null
+        );
+    }
+
+    /**
+     * Builds a keyset page from rows fetched with {@code limit + 1}; the extra row only signals that
+     * another page exists. {@code page} is 0 in cursor mode.
+     */
+    public static <T> PageResponse<T> ofCursor(
+            List<T> rows,
+            Long total,
+            boolean totalEstimated,
+            int limit,
+            Function<T, PageCursor> cursorOf
+    ) {
+        Integer totalPages = total != null ? totalPages(total, limit) : null;
+        if (rows.size() <= limit) {
+            return new PageResponse<>(rows, total, 0, totalPages, false, totalEstimated, null);
+        }
+        List<T> data = new ArrayList<>(rows.subList(0, limit));
+        String nextCursor = cursorOf.apply(data.get(limit - 1)).encode();
+        return new PageResponse<>(data, total, 0, totalPages, true, totalEstimated, nextCursor);
+    }
+
+    /**
+     * Clamps a client-supplied page size to 1..{@link #MAX_LIMIT}, so a bad value can neither break paging
+     * nor ask for an unbounded page.
+     */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public static int clampPage(int page) {
+        return Math.max(1, page);
+    }
 
-    public static <T> PageResponse<T> of(List<T> data, long total, int page, int limit) {
-        int totalPages = (int) Math.ceil((double) total / limit);
-        return new PageResponse<>(data, total, page, totalPages);
+    private static int totalPages(long total, int limit) {
+        return (int) Math.ceil((double) total / limit);
     }
 }
@@ -0,0 +1,19 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionAccepted {
+    private UUID submissionId;
+    private String status;
+
+    public static SubmissionAccepted of(UUID submissionId) {
+        return new SubmissionAccepted(submissionId, "accepted");
+    }
+}
@@ -0,0 +1,23 @@
+package com.metropolitan.backend.dto;
+
+/**
+ * How a list endpoint reports its total row count.
+ * EXACT runs a COUNT, ESTIMATE uses PostgreSQL planner statistics, NONE skips the total entirely.
+ */
+public enum TotalMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    public static TotalMode fromParam(String value) {
+        if (value == null || value.isEmpty()) {
+            return EXACT;
+        }
+        for (TotalMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Invalid total mode: " + value + " (expected exact, estimate or none)");
+    }
+}
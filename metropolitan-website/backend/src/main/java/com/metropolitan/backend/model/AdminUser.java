@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class AdminUser {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admin_user_seq")
+    @SequenceGenerator(name = "admin_user_seq", sequenceName = "admin_user_seq", allocationSize = 50)
     private Long id;
 
     @Email(message = "Invalid email format")
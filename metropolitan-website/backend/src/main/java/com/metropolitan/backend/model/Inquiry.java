@@ -3,12 +3,15 @@ package com.metropolitan.backend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "inquiries")
@@ -17,33 +20,47 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Inquiry {
 
+    // PostgreSQL text cannot hold U+0000; rejecting it here keeps such a row out of the insert batches
+    static final String NO_NUL = "[^\\x00]*";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inquiries_seq")
+    @SequenceGenerator(name = "inquiries_seq", sequenceName = "inquiries_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
+    @Pattern(regexp = NO_NUL, message = "Name must not contain NUL characters")
     @Column(nullable = false, columnDefinition = "TEXT")
     private String name;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
+    @Pattern(regexp = NO_NUL, message = "Email must not contain NUL characters")
     @Column(nullable = false, columnDefinition = "TEXT")
     private String email;
 
+    @Pattern(regexp = NO_NUL, message = "Phone must not contain NUL characters")
     @Column(columnDefinition = "TEXT")
     private String phone;
 
+    @Pattern(regexp = NO_NUL, message = "Subject must not contain NUL characters")
     @Column(columnDefinition = "TEXT")
     private String subject;
 
     @NotBlank(message = "Message is required")
+    @Pattern(regexp = NO_NUL, message = "Message must not contain NUL characters")
     @Column(nullable = false, columnDefinition = "TEXT")
     private String message;
 
+    @Size(max = 50, message = "Division must be at most 50 characters")
+    @Pattern(regexp = NO_NUL, message = "Division must not contain NUL characters")
     @Column(length = 50)
     private String division;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    @Column(name = "submission_id", unique = true, updatable = false)
+    private UUID submissionId;
 }
@@ -3,12 +3,14 @@ package com.metropolitan.backend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "job_applications")
@@ -18,29 +20,38 @@ import java.time.LocalDateTime;
 public class JobApplication {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_applications_seq")
+    @SequenceGenerator(name = "job_applications_seq", sequenceName = "job_applications_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
+    @Pattern(regexp = Inquiry.NO_NUL, message = "Name must not contain NUL characters")
     @Column(nullable = false, columnDefinition = "TEXT")
     private String name;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
+    @Pattern(regexp = Inquiry.NO_NUL, message = "Email must not contain NUL characters")
     @Column(nullable = false, columnDefinition = "TEXT")
     private String email;
 
     @NotBlank(message = "Position is required")
+    @Pattern(regexp = Inquiry.NO_NUL, message = "Position must not contain NUL characters")
     @Column(nullable = false, columnDefinition = "TEXT")
     private String position;
 
+    @Pattern(regexp = Inquiry.NO_NUL, message = "Portfolio URL must not contain NUL characters")
     @Column(name = "portfolio_url", columnDefinition = "TEXT")
     private String portfolioUrl;
 
+    @Pattern(regexp = Inquiry.NO_NUL, message = "Cover letter must not contain NUL characters")
     @Column(name = "cover_letter", columnDefinition = "TEXT")
     private String coverLetter;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    @Column(name = "submission_id", unique = true, updatable = false)
+    private UUID submissionId;
 }
@@ -1,38 +1,56 @@
 package com.metropolitan.backend.repository;
 
+import com.metropolitan.backend.dto.CaseStudySummary;
+import com.metropolitan.backend.dto.ContentVersion;
+import com.metropolitan.backend.dto.DivisionCount;
 import com.metropolitan.backend.model.CaseStudy;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CaseStudyRepository extends JpaRepository<CaseStudy, Long> {
-    Page<CaseStudy> findByDivision(String division, Pageable pageable);
-    long countByDivision(String division);
-
-    @Query("SELECT c FROM CaseStudy c WHERE " +
-            "(:#{#division == null} = true OR c.division = :division) AND " +
-            "(:#{#fromDate == null} = true OR c.createdAt >= :fromDate) AND " +
-            "(:#{#toDate == null} = true OR c.createdAt <= :toDate)")
-    Page<CaseStudy> findWithFilters(
-            @Param("division") String division,
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            Pageable pageable
-    );
-
-    @Query("SELECT COUNT(c) FROM CaseStudy c WHERE " +
-            "(:#{#division == null} = true OR c.division = :division) AND " +
-            "(:#{#fromDate == null} = true OR c.createdAt >= :fromDate) AND " +
-            "(:#{#toDate == null} = true OR c.createdAt <= :toDate)")
-    long countWithFilters(
-            @Param("division") String division,
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate
-    );
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.DivisionCount(c.division, COUNT(c)) FROM CaseStudy c GROUP BY c.division")
+    List<DivisionCount> countGroupedByDivision();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new com.metropolitan.backend.dto.CaseStudySummary(" +
+            "c.id, c.title, SUBSTRING(c.description, 1, " + CaseStudySummary.EXCERPT_LENGTH + "), c.image, " +
+            "c.division, c.client, c.location, c.completionDate, c.createdAt) FROM CaseStudy c",
+            countQuery = "SELECT COUNT(c) FROM CaseStudy c")
+    Page<CaseStudySummary> findSummaries(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new com.metropolitan.backend.dto.CaseStudySummary(" +
+            "c.id, c.title, SUBSTRING(c.description, 1, " + CaseStudySummary.EXCERPT_LENGTH + "), c.image, " +
+            "c.division, c.client, c.location, c.completionDate, c.createdAt) FROM CaseStudy c " +
+            "WHERE c.division = :division",
+            countQuery = "SELECT COUNT(c) FROM CaseStudy c WHERE c.division = :division")
+    Page<CaseStudySummary> findSummariesByDivision(@Param("division") String division, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.ContentVersion(c.version, c.updatedAt) FROM CaseStudy c WHERE c.id = :id")
+    Optional<ContentVersion> findVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.ContentVersion(COUNT(c), MAX(c.updatedAt)) FROM CaseStudy c")
+    ContentVersion findCollectionVersion();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.ContentVersion(COUNT(c), MAX(c.updatedAt)) FROM CaseStudy c " +
+            "WHERE c.division = :division")
+    ContentVersion findCollectionVersionByDivision(@Param("division") String division);
+
+    @Query("SELECT c.id FROM CaseStudy c WHERE c.image LIKE 'data:%'")
+    List<Long> findIdsWithInlineImage();
 }
@@ -0,0 +1,142 @@
+package com.metropolitan.backend.repository;
+
+import com.metropolitan.backend.dto.PageCursor;
+import jakarta.persistence.Query;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filter, sort and keyset position for an admin list query.
+ * <p>
+ * The generated JPQL contains only the predicates that are actually set, so PostgreSQL sees a plain
+ * {@code division = ? AND created_at >= ?} it can match to an index instead of one catch-all
+ * {@code (? IS NULL OR ...)} shape. The text for each shape is built once and cached, which in turn
+ * lets Hibernate's query plan cache reuse the parsed and translated query.
+ */
+@Getter
+public class ListQuery {
+
+    private static final Map<String, String> JPQL_BY_SHAPE = new ConcurrentHashMap<>();
+
+    private final ListSort sort;
+    private String division;
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+    private PageCursor after;
+
+    public ListQuery(ListSort sort) {
+        this.sort = sort;
+    }
+
+    public ListQuery division(String division) {
+        this.division = division != null && !division.isEmpty() ? division : null;
+        return this;
+    }
+
+    public ListQuery createdBetween(LocalDateTime fromDate, LocalDateTime toDate) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        return this;
+    }
+
+    /**
+     * Continues after {@code after}. A cursor issued for a different sort would seek to a meaningless position,
+     * so it is rejected with an IllegalArgumentException.
+     */
+    public ListQuery after(PageCursor after) {
+        if (after != null && !sort.toParam().equals(after.getSort())) {
+            throw new IllegalArgumentException("Cursor was issued for sort " + after.getSort()
+                    + ", not " + sort.toParam());
+        }
+        this.after = after;
+        return this;
+    }
+
+    public PageCursor cursorAt(LocalDateTime position, Long id) {
+        return new PageCursor(sort.toParam(), position, id);
+    }
+
+    String selectJpql(String entityName) {
+        return JPQL_BY_SHAPE.computeIfAbsent(shapeKey(entityName, false), key -> build(entityName, false));
+    }
+
+    String countJpql(String entityName) {
+        return JPQL_BY_SHAPE.computeIfAbsent(shapeKey(entityName, true), key -> build(entityName, true));
+    }
+
+    void bind(Query query, boolean forCount) {
+        if (division != null) {
+            query.setParameter("division", division);
+        }
+        if (fromDate != null) {
+            query.setParameter("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            query.setParameter("toDate", toDate);
+        }
+        if (!forCount && after != null) {
+            query.setParameter("position", sort.getField() == SortField.DATE
+                    ? after.getPosition().toLocalDate()
+                    : after.getPosition());
+            query.setParameter("afterId", after.getId());
+        }
+    }
+
+    private String shapeKey(String entityName, boolean forCount) {
+        StringBuilder key = new StringBuilder(entityName).append(forCount ? "|count" : "|select");
+        key.append(division != null ? "|d" : "|-");
+        key.append(fromDate != null ? "f" : "-");
+        key.append(toDate != null ? "t" : "-");
+        if (!forCount) {
+            key.append('|').append(sort.getField()).append(sort.isAscending() ? ":asc" : ":desc");
+            key.append(after != null ? "|seek" : "|first");
+        }
+        return key.toString();
+    }
+
+    private String build(String entityName, boolean forCount) {
+        StringBuilder jpql = new StringBuilder(forCount ? "SELECT COUNT(e) FROM " : "SELECT e FROM ")
+                .append(entityName).append(" e");
+
+        StringBuilder where = new StringBuilder();
+        if (division != null) {
+            and(where, "e.division = :division");
+        }
+        if (fromDate != null) {
+            and(where, "e.createdAt >= :fromDate");
+        }
+        if (toDate != null) {
+            and(where, "e.createdAt <= :toDate");
+        }
+
+        String column = "e." + sort.getField().getAttribute();
+        String direction = sort.isAscending() ? "ASC" : "DESC";
+        if (!forCount && after != null) {
+            String comparison = sort.isAscending() ? ">" : "<";
+            // PostgreSQL cannot start an index scan from the OR below; the redundant inclusive bound is what
+            // lets the scan begin at the cursor instead of reading and discarding every earlier row
+            and(where, column + " " + comparison + "= :position");
+            and(where, "(" + column + " " + comparison + " :position OR (" + column + " = :position AND e.id "
+                    + comparison + " :afterId))");
+        }
+
+        if (!where.isEmpty()) {
+            jpql.append(" WHERE ").append(where);
+        }
+        if (!forCount) {
+            jpql.append(" ORDER BY ").append(column).append(' ').append(direction)
+                    .append(", e.id ").append(direction);
+        }
+        return jpql.toString();
+    }
+
+    private static void and(StringBuilder where, String predicate) {
+        if (!where.isEmpty()) {
+            where.append(" AND ");
+        }
+        where.append(predicate);
+    }
+}
@@ -0,0 +1,55 @@
+package com.metropolitan.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs {@link ListQuery} instances. Selects never issue a COUNT; callers decide separately whether
+ * and how to count.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ListQueryExecutor {
+
+    private final EntityManager entityManager;
+
+    public <T> Slice<T> findSlice(Class<T> entityType, ListQuery listQuery, int page, int limit) {
+        List<T> rows = select(entityType, listQuery)
+                .setFirstResult((page - 1) * limit)
+                .setMaxResults(limit + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        return new SliceImpl<>(content, PageRequest.of(page - 1, limit), hasNext);
+    }
+
+    /**
+     * Fetches up to {@code limit + 1} rows after the query's cursor; the extra row signals a next page.
+     */
+    public <T> List<T> findAfter(Class<T> entityType, ListQuery listQuery, int limit) {
+        return select(entityType, listQuery)
+                .setMaxResults(limit + 1)
+                .getResultList();
+    }
+
+    public long count(Class<?> entityType, ListQuery listQuery) {
+        TypedQuery<Long> query = entityManager.createQuery(listQuery.countJpql(entityType.getSimpleName()), Long.class);
+        listQuery.bind(query, true);
+        return query.getSingleResult();
+    }
+
+    private <T> TypedQuery<T> select(Class<T> entityType, ListQuery listQuery) {
+        TypedQuery<T> query = entityManager.createQuery(listQuery.selectJpql(entityType.getSimpleName()), entityType);
+        listQuery.bind(query, false);
+        return query;
+    }
+}
@@ -0,0 +1,51 @@
+package com.metropolitan.backend.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+public class ListSort {
+    private SortField field;
+    private boolean ascending;
+
+    public static ListSort descending(SortField field) {
+        return new ListSort(field, false);
+    }
+
+    /**
+     * The {@code sort} request parameter that {@link #parse} turns back into this sort.
+     */
+    public String toParam() {
+        return field.getAttribute() + (ascending ? ",asc" : ",desc");
+    }
+
+    /**
+     * Parses a {@code sort} request parameter of the form {@code field} or {@code field,asc|desc}.
+     * Fields outside {@code allowed} are rejected with an IllegalArgumentException.
+     */
+    public static ListSort parse(String value, ListSort defaultSort, Set<SortField> allowed) {
+        if (value == null || value.isEmpty()) {
+            return defaultSort;
+        }
+
+        String[] parts = value.split(",", 2);
+        SortField field = SortField.fromAttribute(parts[0].trim());
+        if (field == null || !allowed.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + parts[0].trim());
+        }
+
+        boolean ascending = false;
+        if (parts.length == 2) {
+            String direction = parts[1].trim();
+            if (direction.equalsIgnoreCase("asc")) {
+                ascending = true;
+            } else if (!direction.equalsIgnoreCase("desc")) {
+                throw new IllegalArgumentException("Unsupported sort direction: " + direction);
+            }
+        }
+        return new ListSort(field, ascending);
+    }
+}
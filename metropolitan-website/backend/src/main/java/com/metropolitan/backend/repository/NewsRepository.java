@@ -1,32 +1,38 @@
 package com.metropolitan.backend.repository;
 
+import com.metropolitan.backend.dto.ContentVersion;
+import com.metropolitan.backend.dto.NewsSummary;
 import com.metropolitan.backend.model.News;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NewsRepository extends JpaRepository<News, Long> {
 
-    @Query("SELECT n FROM News n WHERE " +
-            "(:#{#fromDate == null} = true OR n.createdAt >= :fromDate) AND " +
-            "(:#{#toDate == null} = true OR n.createdAt <= :toDate)")
-    Page<News> findWithFilters(
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            Pageable pageable
-    );
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new com.metropolitan.backend.dto.NewsSummary(" +
+            "n.id, n.title, n.summary, n.image, n.date, n.createdAt) FROM News n",
+            countQuery = "SELECT COUNT(n) FROM News n")
+    Page<NewsSummary> findSummaries(Pageable pageable);
 
-    @Query("SELECT COUNT(n) FROM News n WHERE " +
-            "(:#{#fromDate == null} = true OR n.createdAt >= :fromDate) AND " +
-            "(:#{#toDate == null} = true OR n.createdAt <= :toDate)")
-    long countWithFilters(
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate
-    );
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.ContentVersion(n.version, n.updatedAt) FROM News n WHERE n.id = :id")
+    Optional<ContentVersion> findVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.ContentVersion(COUNT(n), MAX(n.updatedAt)) FROM News n")
+    ContentVersion findCollectionVersion();
+
+    @Query("SELECT n.id FROM News n WHERE n.image LIKE 'data:%'")
+    List<Long> findIdsWithInlineImage();
 }
@@ -0,0 +1,29 @@
+package com.metropolitan.backend.repository;
+
+/**
+ * Columns a list endpoint may be sorted by. Only indexed columns are listed here, so a client
+ * supplied sort can never turn a list query into a full sort of the table.
+ */
+public enum SortField {
+    CREATED_AT("createdAt"),
+    DATE("date");
+
+    private final String attribute;
+
+    SortField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public static SortField fromAttribute(String attribute) {
+        for (SortField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -1,40 +1,38 @@
 package com.metropolitan.backend.repository;
 
+import com.metropolitan.backend.dto.ContentVersion;
+import com.metropolitan.backend.dto.DivisionCount;
 import com.metropolitan.backend.model.Testimonial;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface TestimonialRepository extends JpaRepository<Testimonial, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Page<Testimonial> findByDivision(String division, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Testimonial> findByDivision(String division);
-    long countByDivision(String division);
 
-    @Query("SELECT t FROM Testimonial t WHERE " +
-            "(:#{#division == null} = true OR t.division = :division) AND " +
-            "(:#{#fromDate == null} = true OR t.createdAt >= :fromDate) AND " +
-            "(:#{#toDate == null} = true OR t.createdAt <= :toDate)")
-    Page<Testimonial> findWithFilters(
-            @Param("division") String division,
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            Pageable pageable
-    );
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.DivisionCount(t.division, COUNT(t)) FROM Testimonial t GROUP BY t.division")
+    List<DivisionCount> countGroupedByDivision();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.ContentVersion(COUNT(t), MAX(t.updatedAt)) FROM Testimonial t")
+    ContentVersion findCollectionVersion();
 
-    @Query("SELECT COUNT(t) FROM Testimonial t WHERE " +
-            "(:#{#division == null} = true OR t.division = :division) AND " +
-            "(:#{#fromDate == null} = true OR t.createdAt >= :fromDate) AND " +
-            "(:#{#toDate == null} = true OR t.createdAt <= :toDate)")
-    long countWithFilters(
-            @Param("division") String division,
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate
-    );
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.metropolitan.backend.dto.ContentVersion(COUNT(t), MAX(t.updatedAt)) FROM Testimonial t " +
+            "WHERE t.division = :division")
+    ContentVersion findCollectionVersionByDivision(@Param("division") String division);
 }
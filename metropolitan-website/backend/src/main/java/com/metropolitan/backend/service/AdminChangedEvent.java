@@ -0,0 +1,13 @@
+package com.metropolitan.backend.service;
+
+/**
+ * Published after an admin account changes in a way that affects authentication (activation). A
+ * {@code null} email means any admin may have changed. {@code remote} marks events replayed from another
+ * node, which must not be broadcast again.
+ */
+public record AdminChangedEvent(String email, boolean remote) {
+
+    public AdminChangedEvent(String email) {
+        this(email, false);
+    }
+}
@@ -1,15 +1,23 @@
 package com.metropolitan.backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.metropolitan.backend.model.AdminUser;
 import com.metropolitan.backend.repository.AdminUserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -17,15 +25,68 @@ public class AdminUserDetailsService implements UserDetailsService {
 
     private final AdminUserRepository adminUserRepository;
 
+    @Value("${auth.principal-cache.ttl:60s}")
+    private Duration principalCacheTtl;
+
+    // Principals for authenticated requests, without the password hash; missing admins are cached as empty
+    private Cache<String, Optional<UserDetails>> principals;
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(principalCacheTtl)
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         AdminUser admin = adminUserRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Admin user not found with email: " + email));
 
+        return toUserDetails(admin, admin.getPassword());
+    }
+
+    /**
+     * Looks up the principal for a verified token. Answers from memory for up to
+     * {@code auth.principal-cache.ttl}; an {@link AdminChangedEvent}, local or broadcast by another node,
+     * drops the entry as soon as the admin changes.
+     */
+    public Optional<UserDetails> loadPrincipal(String email) {
+        Optional<UserDetails> cached = principals.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        // Loaded outside Caffeine's compute lock, which would pin a virtual thread during the query;
+        // an admin's first requests after expiry may each load, which is harmless for a handful of admins
+        long generation = evictions.get();
+        Optional<UserDetails> loaded = adminUserRepository.findByEmail(email)
+                .map(admin -> toUserDetails(admin, ""));
+        // Not stored if an eviction happened meanwhile, since the load may have read the old row; checked
+        // again after the insert for an eviction that ran between the check and the insert
+        principals.asMap().compute(email, (key, previous) -> evictions.get() == generation ? loaded : previous);
+        if (evictions.get() != generation) {
+            principals.asMap().remove(email, loaded);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdminChanged(AdminChangedEvent event) {
+        evictions.incrementAndGet();
+        if (event.email() != null) {
+            principals.invalidate(event.email());
+        } else {
+            principals.invalidateAll();
+        }
+    }
+
+    private static UserDetails toUserDetails(AdminUser admin, String password) {
         return new User(
                 admin.getEmail(),
-                admin.getPassword(),
-                admin.getIsActive(),
+                password,
+                Boolean.TRUE.equals(admin.getIsActive()),
                 true,
                 true,
                 true,
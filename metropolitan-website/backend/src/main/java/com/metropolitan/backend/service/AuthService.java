@@ -6,10 +6,13 @@ import com.metropolitan.backend.dto.RegisterRequest;
 import com.metropolitan.backend.model.AdminUser;
 import com.metropolitan.backend.repository.AdminUserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +21,11 @@ public class AuthService {
     private final AdminUserRepository adminUserRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final TokenRevocationService tokenRevocationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final int MAX_ADMIN_COUNT = 2;
 
@@ -42,47 +50,121 @@ public class AuthService {
 
         AdminUser savedAdmin = adminUserRepository.save(admin);
 
-        // Generate JWT token
-        String token = jwtService.generateToken(savedAdmin.getEmail());
-
-        return new AuthResponse(
-                token,
-                savedAdmin.getId(),
-                savedAdmin.getName(),
-                savedAdmin.getEmail()
-        );
+        return issueTokens(savedAdmin);
     }
 
-    public AuthResponse login(LoginRequest request) {
-        // Find user by email
-        AdminUser admin = adminUserRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid email or password"));
+    /**
+     * Verifies the password on {@link PasswordHashingService}'s pool, so the request thread is free while
+     * BCrypt runs. The future fails with {@link LoginThrottledException} or
+     * {@link java.util.concurrent.RejectedExecutionException} before any hashing when the caller is
+     * throttled or the pool is saturated.
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request, String clientAddress) {
+        try {
+            loginThrottle.acquire(request.getEmail(), clientAddress);
+        } catch (LoginThrottledException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // Find user by email; unknown emails are checked against a dummy hash so they take as long
+        AdminUser admin = adminUserRepository.findByEmail(request.getEmail()).orElse(null);
+
+        return passwordHashingService.matches(request.getPassword(), admin != null ? admin.getPassword() : null)
+                .whenComplete((matches, e) -> {
+                    // The password was never checked, so this was not a guess
+                    if (e != null) {
+                        loginThrottle.release(request.getEmail(), clientAddress);
+                    }
+                })
+                .thenApply(matches -> {
+                    // Verify password; the attempt stays counted as a failure
+                    if (!matches) {
+                        throw new RuntimeException("Invalid email or password");
+                    }
+
+                    // The password was right, so this was not a guess either
+                    loginThrottle.release(request.getEmail(), clientAddress);
+
+                    // Check if admin is active
+                    if (!admin.getIsActive()) {
+                        throw new RuntimeException("Account is deactivated");
+                    }
+
+                    // Update last login (written in the background)
+                    lastLoginBuffer.record(admin.getId(), LocalDateTime.now());
+
+                    return issueTokens(admin);
+                });
+    }
 
-        // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), admin.getPassword())) {
-            throw new RuntimeException("Invalid email or password");
+    /**
+     * Exchanges a refresh token for a new access and refresh token. Each refresh token is accepted once:
+     * it is revoked in the same step, and the database decides which request wins when it is used twice.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        JwtService.VerifiedToken verified = jwtService.verifyRefreshToken(refreshToken)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired refresh token"));
+        if (!tokenRevocationService.revoke(verified.id(), verified.expiresAtMillis())) {
+            throw new RuntimeException("Invalid or expired refresh token");
         }
 
-        // Check if admin is active
+        AdminUser admin = getAdminByEmail(verified.subject());
         if (!admin.getIsActive()) {
             throw new RuntimeException("Account is deactivated");
         }
+        return issueTokens(admin);
+    }
 
-        // Update last login
-        admin.setLastLogin(LocalDateTime.now());
-        adminUserRepository.save(admin);
+    /**
+     * Revokes the given tokens; either may be {@code null} or already invalid.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            revoke(accessToken);
+        }
+        if (refreshToken != null) {
+            revoke(refreshToken);
+        }
+    }
 
-        // Generate JWT token
-        String token = jwtService.generateToken(admin.getEmail());
+    /**
+     * Revokes an access or refresh token until it expires. Returns {@code false} if the token is not a
+     * valid, unexpired token of this application.
+     */
+    public boolean revoke(String token) {
+        Optional<JwtService.VerifiedToken> verified = jwtService.decode(token);
+        verified.ifPresent(t -> tokenRevocationService.revoke(t.id(), t.expiresAtMillis()));
+        return verified.isPresent();
+    }
 
+    private AuthResponse issueTokens(AdminUser admin) {
         return new AuthResponse(
-                token,
+                jwtService.generateAccessToken(admin.getEmail()),
+                jwtService.generateRefreshToken(admin.getEmail()),
+                jwtService.getAccessTokenExpirationSeconds(),
                 admin.getId(),
                 admin.getName(),
                 admin.getEmail()
         );
     }
 
+    /**
+     * Activates or deactivates an admin. The cached principal is dropped on every node, so the change
+     * applies to the admin's next request instead of after the principal cache TTL.
+     */
+    public AdminUser setActive(Long id, boolean active, String currentEmail) {
+        AdminUser admin = adminUserRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Admin user not found with id: " + id));
+        if (!active && admin.getEmail().equals(currentEmail)) {
+            throw new IllegalArgumentException("You cannot deactivate your own account");
+        }
+
+        admin.setIsActive(active);
+        AdminUser saved = adminUserRepository.save(admin);
+        eventPublisher.publishEvent(new AdminChangedEvent(saved.getEmail()));
+        return saved;
+    }
+
     public AdminUser getAdminByEmail(String email) {
         return adminUserRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Admin user not found"));
@@ -0,0 +1,256 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.dto.BulkRequest;
+import com.metropolitan.backend.dto.BulkResult;
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.model.Division;
+import com.metropolitan.backend.model.News;
+import com.metropolitan.backend.model.Testimonial;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based delete and division reassignment for admin lists. Work is done in chunks of
+ * {@code bulk.chunk-size} ids, each one {@code DELETE}/{@code UPDATE ... WHERE id = ANY(?)} in its own
+ * transaction together with the matching rollup changes, so a large cleanup never holds locks for long.
+ * Rows selected by filter are walked by id, which keeps chunks stable while they are being changed.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkOperationService {
+
+    public enum Target {
+        CASE_STUDIES(StatsService.Counter.CASE_STUDIES, ContentCache.Region.CASE_STUDIES, CaseStudy.class),
+        NEWS(StatsService.Counter.NEWS, ContentCache.Region.NEWS, News.class),
+        TESTIMONIALS(StatsService.Counter.TESTIMONIALS, ContentCache.Region.TESTIMONIALS, Testimonial.class),
+        INQUIRIES(StatsService.Counter.INQUIRIES, null, null),
+        JOB_APPLICATIONS(StatsService.Counter.JOB_APPLICATIONS, null, null);
+
+        private final StatsService.Counter counter;
+        private final ContentCache.Region region;
+        private final Class<?> entityClass;
+
+        Target(StatsService.Counter counter, ContentCache.Region region, Class<?> entityClass) {
+            this.counter = counter;
+            this.region = region;
+            this.entityClass = entityClass;
+        }
+
+        // Public content carries updated_at/version and is cached
+        private boolean isContent() {
+            return region != null;
+        }
+    }
+
+    private record Filter(String sql, List<Object> args) {
+    }
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkResult apply(Target target, BulkRequest request) {
+        String action = request.getAction() != null ? request.getAction().toLowerCase() : "";
+        boolean delete = switch (action) {
+            case "delete" -> true;
+            case "update" -> false;
+            default -> throw new IllegalArgumentException("Invalid bulk action: " + request.getAction() +
+                    " (expected delete or update)");
+        };
+
+        String division = null;
+        if (!delete) {
+            if (!target.counter.isByDivision()) {
+                throw new IllegalArgumentException("Bulk update is not supported for " + target.counter.getKey());
+            }
+            division = request.getChanges() != null ? request.getChanges().getDivision() : null;
+            if (Division.fromDisplayName(division) == null) {
+                throw new IllegalArgumentException("Invalid division: " + division);
+            }
+        }
+
+        Filter filter = filter(target, request);
+        long[] ids = request.getIds() != null ? distinct(request.getIds()) : null;
+        if (ids == null && filter.args().isEmpty()) {
+            throw new IllegalArgumentException("Select rows with ids or at least one of division, fromDate, toDate");
+        }
+
+        long affected = 0;
+        int chunks = 0;
+        Set<String> divisions = new LinkedHashSet<>();
+        long lastId = 0;
+        int offset = 0;
+
+        while (true) {
+            long[] chunk;
+            if (ids != null) {
+                if (offset >= ids.length) {
+                    break;
+                }
+                chunk = Arrays.copyOfRange(ids, offset, Math.min(offset + chunkSize, ids.length));
+                offset += chunk.length;
+            } else {
+                chunk = nextChunk(target, filter, lastId);
+                if (chunk.length == 0) {
+                    break;
+                }
+                lastId = chunk[chunk.length - 1];
+            }
+
+            Map<String, Map<LocalDateTime, Long>> changed = delete
+                    ? deleteChunk(target, chunk, filter)
+                    : updateChunk(target, chunk, filter, division);
+            chunks++;
+            for (Map.Entry<String, Map<LocalDateTime, Long>> entry : changed.entrySet()) {
+                affected += entry.getValue().values().stream().mapToLong(Long::longValue).sum();
+                divisions.add(entry.getKey());
+            }
+        }
+
+        if (affected > 0 && !delete) {
+            divisions.add(division);
+        }
+        if (affected > 0 && target.isContent()) {
+            // The rows were changed with plain SQL, which Hibernate's caches do not see
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            cache.evictEntityData(target.entityClass);
+            cache.evictDefaultQueryRegion();
+            eventPublisher.publishEvent(new ContentChangedEvent(target.region,
+                    divisions.stream().filter(d -> d != null).toArray(String[]::new)));
+        }
+        return new BulkResult(action, affected, chunks);
+    }
+
+    private Map<String, Map<LocalDateTime, Long>> deleteChunk(Target target, long[] ids, Filter filter) {
+        String sql = "WITH changed AS (DELETE FROM " + target.counter.getTable() +
+                " WHERE id = ANY(?)" + filter.sql() + " RETURNING " + divisionColumn(target) + ", created_at) " +
+                "SELECT division, date_trunc('hour', created_at) AS hour, COUNT(*) AS total FROM changed GROUP BY 1, 2";
+
+        return transactionTemplate.execute(status -> {
+            Map<String, Map<LocalDateTime, Long>> changed = query(sql, ids, filter.args());
+            statsService.recordDeleted(target.counter, changed);
+            return changed;
+        });
+    }
+
+    private Map<String, Map<LocalDateTime, Long>> updateChunk(Target target, long[] ids, Filter filter, String division) {
+        String table = target.counter.getTable();
+        String sql = "WITH previous AS (SELECT id, division, created_at FROM " + table +
+                " WHERE id = ANY(?)" + filter.sql() + " AND division IS DISTINCT FROM ? FOR UPDATE), " +
+                "changed AS (UPDATE " + table + " t SET division = ?" +
+                (target.isContent() ? ", updated_at = ?, version = t.version + 1" : "") +
+                " FROM previous WHERE t.id = previous.id RETURNING previous.division, previous.created_at) " +
+                "SELECT division, date_trunc('hour', created_at) AS hour, COUNT(*) AS total FROM changed GROUP BY 1, 2";
+
+        List<Object> args = new ArrayList<>(filter.args());
+        args.add(division);
+        args.add(division);
+        if (target.isContent()) {
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+        }
+
+        return transactionTemplate.execute(status -> {
+            Map<String, Map<LocalDateTime, Long>> changed = query(sql, ids, args);
+            statsService.recordDivisionChanged(target.counter, changed, division);
+            return changed;
+        });
+    }
+
+    // Rows grouped by (previous) division and creation hour, as the rollups expect them
+    private Map<String, Map<LocalDateTime, Long>> query(String sql, long[] ids, List<Object> args) {
+        Object[] params = new Object[args.size() + 1];
+        params[0] = ids;
+        for (int i = 0; i < args.size(); i++) {
+            params[i + 1] = args.get(i);
+        }
+
+        Map<String, Map<LocalDateTime, Long>> changed = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            Timestamp hour = rs.getTimestamp("hour");
+            changed.computeIfAbsent(rs.getString("division"), d -> new HashMap<>())
+                    .merge(hour != null ? hour.toLocalDateTime() : null, rs.getLong("total"), Long::sum);
+        }, params);
+        return changed;
+    }
+
+    private long[] nextChunk(Target target, Filter filter, long lastId) {
+        List<Object> args = new ArrayList<>();
+        args.add(lastId);
+        args.addAll(filter.args());
+        args.add(chunkSize);
+
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT id FROM " + target.counter.getTable() + " WHERE id > ?" + filter.sql() + " ORDER BY id LIMIT ?",
+                Long.class,
+                args.toArray());
+        if (rows.isEmpty()) {
+            return NO_IDS;
+        }
+        long[] chunk = new long[rows.size()];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = rows.get(i);
+        }
+        return chunk;
+    }
+
+    private static Filter filter(Target target, BulkRequest request) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        if (request.getDivision() != null && !request.getDivision().isEmpty()) {
+            if (!target.counter.isByDivision()) {
+                throw new IllegalArgumentException("Filtering by division is not supported for " + target.counter.getKey());
+            }
+            sql.append(" AND division = ?");
+            args.add(request.getDivision());
+        }
+        if (request.getFromDate() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(request.getFromDate()));
+        }
+        if (request.getToDate() != null) {
+            sql.append(" AND created_at <= ?");
+            args.add(Timestamp.valueOf(request.getToDate()));
+        }
+        return new Filter(sql.toString(), args);
+    }
+
+    private static String divisionColumn(Target target) {
+        return target.counter.isByDivision() ? "division" : "NULL::varchar AS division";
+    }
+
+    private static long[] distinct(long[] ids) {
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (size == 0 || sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+}
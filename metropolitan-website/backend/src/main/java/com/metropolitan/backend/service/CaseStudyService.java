@@ -1,83 +1,197 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.dto.CaseStudySummary;
+import com.metropolitan.backend.dto.ContentVersion;
+import com.metropolitan.backend.dto.DivisionFacets;
+import com.metropolitan.backend.dto.PageCursor;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.CaseStudy;
 import com.metropolitan.backend.repository.CaseStudyRepository;
+import com.metropolitan.backend.repository.ListQuery;
+import com.metropolitan.backend.repository.ListQueryExecutor;
+import com.metropolitan.backend.repository.ListSort;
+import com.metropolitan.backend.repository.SortField;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CaseStudyService {
 
+    private static final ListSort DEFAULT_SORT = ListSort.descending(SortField.CREATED_AT);
+    private static final Set<SortField> SORT_FIELDS = EnumSet.of(SortField.CREATED_AT);
+
     private final CaseStudyRepository caseStudyRepository;
+    private final ListQueryExecutor listQueryExecutor;
+    private final PageTotalResolver pageTotalResolver;
+    private final MediaStorageService mediaStorageService;
+    private final ContentCache contentCache;
+    private final StatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PageResponse<CaseStudySummary> getCaseStudies(String division, int page, int limit) {
+        return contentCache.get(
+                ContentCache.Key.of(ContentCache.Region.CASE_STUDIES, division, page, limit),
+                () -> loadCaseStudies(division, page, limit)
+        );
+    }
 
-    public PageResponse<CaseStudy> getCaseStudies(String division, int page, int limit) {
+    private PageResponse<CaseStudySummary> loadCaseStudies(String division, int page, int limit) {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        Page<CaseStudy> caseStudyPage;
-        long total;
+        Page<CaseStudySummary> caseStudyPage;
 
         if (division != null && !division.isEmpty()) {
-            caseStudyPage = caseStudyRepository.findByDivision(division, pageable);
-            total = caseStudyRepository.countByDivision(division);
+            caseStudyPage = caseStudyRepository.findSummariesByDivision(division, pageable);
         } else {
-            caseStudyPage = caseStudyRepository.findAll(pageable);
-            total = caseStudyRepository.count();
+            caseStudyPage = caseStudyRepository.findSummaries(pageable);
         }
 
-        return PageResponse.of(caseStudyPage.getContent(), total, page, limit);
+        return PageResponse.of(caseStudyPage);
     }
 
     public PageResponse<CaseStudy> getCaseStudiesWithFilters(
             String division,
             LocalDateTime fromDate,
             LocalDateTime toDate,
+            String sort,
+            TotalMode totalMode,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-
-        Page<CaseStudy> caseStudyPage = caseStudyRepository.findWithFilters(division, fromDate, toDate, pageable);
-        long total = caseStudyRepository.countWithFilters(division, fromDate, toDate);
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .division(division)
+                .createdBetween(fromDate, toDate);
+
+        Slice<CaseStudy> caseStudyPage = listQueryExecutor.findSlice(CaseStudy.class, query, page, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(CaseStudy.class, query),
+                "case_studies",
+                query
+        );
+
+        return PageResponse.of(caseStudyPage, total, totalMode == TotalMode.ESTIMATE);
+    }
 
-        return PageResponse.of(caseStudyPage.getContent(), total, page, limit);
+    public PageResponse<CaseStudy> getCaseStudiesAfterCursor(
+            String division,
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            String sort,
+            String cursor,
+            TotalMode totalMode,
+            int limit
+    ) {
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .division(division)
+                .createdBetween(fromDate, toDate)
+                .after(PageCursor.decode(cursor));
+
+        List<CaseStudy> rows = listQueryExecutor.findAfter(CaseStudy.class, query, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(CaseStudy.class, query),
+                "case_studies",
+                query
+        );
+
+        return PageResponse.ofCursor(
+                rows,
+                total,
+                totalMode == TotalMode.ESTIMATE,
+                limit,
+                c -> query.cursorAt(c.getCreatedAt(), c.getId())
+        );
     }
 
     public Optional<CaseStudy> getCaseStudy(Long id) {
         return caseStudyRepository.findById(id);
     }
 
+    public Optional<ContentVersion> getCaseStudyVersion(Long id) {
+        return caseStudyRepository.findVersionById(id);
+    }
+
+    public DivisionFacets getDivisionFacets() {
+        return contentCache.get(
+                ContentCache.Key.facets(ContentCache.Region.CASE_STUDIES),
+                () -> DivisionFacets.of(caseStudyRepository.countGroupedByDivision())
+        );
+    }
+
+    public ContentVersion getCaseStudiesVersion(String division) {
+        if (division != null && !division.isEmpty()) {
+            return caseStudyRepository.findCollectionVersionByDivision(division);
+        }
+        return caseStudyRepository.findCollectionVersion();
+    }
+
+    @Transactional
     public CaseStudy createCaseStudy(CaseStudy caseStudy) {
-        return caseStudyRepository.save(caseStudy);
+        caseStudy.setImage(mediaStorageService.externalize(caseStudy.getImage()));
+        CaseStudy saved = caseStudyRepository.save(caseStudy);
+        statsService.recordCreated(StatsService.Counter.CASE_STUDIES, saved.getDivision(), saved.getCreatedAt());
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.CASE_STUDIES, saved.getDivision()));
+        return saved;
     }
 
+    /**
+     * Inserts the case studies in JDBC batches and evicts each affected division once.
+     */
+    @Transactional
+    public List<CaseStudy> createCaseStudies(List<CaseStudy> caseStudies) {
+        caseStudies.forEach(caseStudy -> caseStudy.setImage(mediaStorageService.externalize(caseStudy.getImage())));
+        List<CaseStudy> saved = caseStudyRepository.saveAll(caseStudies);
+        statsService.recordCreated(StatsService.Counter.CASE_STUDIES, saved.stream()
+                .collect(Collectors.groupingBy(CaseStudy::getDivision, Collectors.counting())));
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.CASE_STUDIES,
+                saved.stream().map(CaseStudy::getDivision).distinct().toArray(String[]::new)));
+        return saved;
+    }
+
+    @Transactional
     public CaseStudy updateCaseStudy(Long id, CaseStudy caseStudyDetails) {
         CaseStudy caseStudy = caseStudyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Case Study not found with id: " + id));
+        String previousDivision = caseStudy.getDivision();
 
         caseStudy.setTitle(caseStudyDetails.getTitle());
         caseStudy.setDescription(caseStudyDetails.getDescription());
-        caseStudy.setImage(caseStudyDetails.getImage());
+        caseStudy.setImage(mediaStorageService.externalize(caseStudyDetails.getImage()));
         caseStudy.setDivision(caseStudyDetails.getDivision());
         caseStudy.setClient(caseStudyDetails.getClient());
         caseStudy.setLocation(caseStudyDetails.getLocation());
         caseStudy.setCompletionDate(caseStudyDetails.getCompletionDate());
 
-        return caseStudyRepository.save(caseStudy);
+        CaseStudy saved = caseStudyRepository.save(caseStudy);
+        statsService.recordDivisionChanged(StatsService.Counter.CASE_STUDIES, previousDivision, saved.getDivision());
+        eventPublisher.publishEvent(
+                new ContentChangedEvent(ContentCache.Region.CASE_STUDIES, previousDivision, saved.getDivision()));
+        return saved;
     }
 
+    @Transactional
     public void deleteCaseStudy(Long id) {
-        if (!caseStudyRepository.existsById(id)) {
-            throw new RuntimeException("Case Study not found with id: " + id);
-        }
-        caseStudyRepository.deleteById(id);
+        CaseStudy caseStudy = caseStudyRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Case Study not found with id: " + id));
+        caseStudyRepository.delete(caseStudy);
+        statsService.recordDeleted(StatsService.Counter.CASE_STUDIES, caseStudy.getDivision(), caseStudy.getCreatedAt());
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.CASE_STUDIES, caseStudy.getDivision()));
     }
 }
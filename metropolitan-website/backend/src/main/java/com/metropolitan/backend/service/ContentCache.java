@@ -0,0 +1,265 @@
+package com.metropolitan.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the public content lists, keyed by (region, division, page, limit).
+ * Caffeine's W-TinyLFU eviction keeps frequently requested pages resident when the size bound is hit.
+ * <p>
+ * Concurrent misses for the same key share a single load. Entries older than the soft TTL are still
+ * served while one background refresh replaces them; only entries past the hard TTL block callers.
+ */
+@Component
+public class ContentCache {
+
+    public enum Region {
+        NEWS,
+        CASE_STUDIES,
+        TESTIMONIALS
+    }
+
+    /**
+     * A null division means "all divisions"; page and limit are 0 for non-paginated lists and
+     * -1 for the region's per-division counts.
+     */
+    public record Key(Region region, String division, int page, int limit) {
+
+        public static Key of(Region region, String division, int page, int limit) {
+            return new Key(region, division != null && !division.isEmpty() ? division : null, page, limit);
+        }
+
+        // Spans all divisions, so any write to the region evicts it
+        public static Key facets(Region region) {
+            return new Key(region, null, -1, -1);
+        }
+    }
+
+    private record Entry(Object value, long loadedAt) {
+    }
+
+    @Value("${content-cache.max-size:2000}")
+    private long maxSize;
+
+    @Value("${content-cache.soft-ttl:1m}")
+    private Duration softTtl;
+
+    @Value("${content-cache.hard-ttl:10m}")
+    private Duration hardTtl;
+
+    @Value("${content-cache.refresh-threads:2}")
+    private int refreshThreads;
+
+    private Cache<Key, Entry> cache;
+    private ThreadPoolExecutor refreshExecutor;
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    // Bumped on invalidation so loads that started before it don't store what they read
+    private final Map<Region, AtomicLong> generations = new EnumMap<>(Region.class);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        for (Region region : Region.values()) {
+            generations.put(region, new AtomicLong());
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(hardTtl)
+                .recordStats()
+                .build();
+
+        refreshExecutor = new ThreadPoolExecutor(
+                refreshThreads,
+                refreshThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(64),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "content-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (System.nanoTime() - entry.loadedAt() > softTtl.toNanos()) {
+                staleHits.increment();
+                refreshInBackground(key, loader);
+            } else {
+                hits.increment();
+            }
+            return (T) entry.value();
+        }
+
+        misses.increment();
+        try {
+            return (T) load(key, loader, false).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the entries a write to the given divisions can affect: those divisions' own lists plus
+     * the unfiltered lists of the region. Passing no divisions clears the whole region.
+     */
+    public void invalidate(Region region, String... divisions) {
+        generations.get(region).incrementAndGet();
+        Predicate<Key> affected = divisions.length == 0
+                ? key -> key.region() == region
+                : key -> key.region() == region && (key.division() == null
+                        || Arrays.stream(divisions).anyMatch(d -> Objects.equals(d, key.division())));
+
+        // Loads already running keep serving their waiters, but new callers must start a fresh one
+        inFlight.keySet().removeIf(affected);
+        cache.asMap().keySet().removeIf(affected);
+    }
+
+    // Evict once the write is committed (right away outside a transaction) and before any other listener
+    // reacts, so anything re-reading the lists sees the write
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onContentChanged(ContentChangedEvent event) {
+        invalidate(event.region(), event.divisions());
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        inFlight.clear();
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum() + staleHits.sum();
+        long requestCount = hitCount + misses.sum();
+        long loadCount = loads.sum();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", hitCount);
+        result.put("staleHitCount", staleHits.sum());
+        result.put("missCount", misses.sum());
+        result.put("hitRate", requestCount == 0 ? 1.0 : (double) hitCount / requestCount);
+        result.put("coalescedCount", coalesced.sum());
+        result.put("loadCount", loadCount);
+        result.put("refreshCount", refreshes.sum());
+        result.put("evictionCount", cache.stats().evictionCount());
+        result.put("averageLoadPenaltyMillis", loadCount == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / loadCount);
+        return result;
+    }
+
+    private void refreshInBackground(Key key, Supplier<?> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            load(key, loader, true);
+            refreshes.increment();
+        } catch (RejectedExecutionException e) {
+            // Refresh pool is saturated: keep serving the stale entry, a later request retries
+        }
+    }
+
+    /**
+     * Stores a loaded entry unless the region was invalidated since the load read its generation. The check
+     * and the insert happen in one {@code compute}, and the generation is read again afterwards: an
+     * invalidation that lands after the check but whose removal pass did not see the new entry yet has bumped
+     * the generation by then, so the entry is taken out again here.
+     */
+    private void store(Key key, Entry entry, long generation) {
+        AtomicLong current = generations.get(key.region());
+        cache.asMap().compute(key, (k, previous) -> current.get() == generation ? entry : previous);
+        if (current.get() != generation) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    /**
+     * Starts a load for {@code key} unless one is already running, in which case its future is shared.
+     */
+    private CompletableFuture<Object> load(Key key, Supplier<?> loader, boolean async) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        long generation = generations.get(key.region()).get();
+        Runnable task = () -> {
+            long start = System.nanoTime();
+            try {
+                Object value = loader.get();
+                store(key, new Entry(value, System.nanoTime()), generation);
+                created.complete(value);
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                loads.increment();
+                loadNanos.add(System.nanoTime() - start);
+                inFlight.remove(key, created);
+            }
+        };
+
+        if (async) {
+            try {
+                refreshExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key, created);
+                created.cancel(false);
+                throw e;
+            }
+        } else {
+            task.run();
+        }
+        return created;
+    }
+}
@@ -0,0 +1,13 @@
+package com.metropolitan.backend.service;
+
+/**
+ * Published by the content services after an admin write. An empty {@code divisions} array means
+ * the whole region may have changed. {@code remote} marks events replayed from another node, which
+ * must not be broadcast again.
+ */
+public record ContentChangedEvent(ContentCache.Region region, String[] divisions, boolean remote) {
+
+    public ContentChangedEvent(ContentCache.Region region, String... divisions) {
+        this(region, divisions, false);
+    }
+}
@@ -0,0 +1,496 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.dto.ImportError;
+import com.metropolitan.backend.dto.ImportFormat;
+import com.metropolitan.backend.dto.ImportReport;
+import com.metropolitan.backend.model.Division;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of case studies and news. Rows are parsed and validated one at a time and streamed
+ * through {@code COPY} into a temporary staging table, which is then merged into the real table
+ * with a single {@code INSERT ... SELECT}. Memory use depends on the largest row, not the upload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentImportService {
+
+    private enum Check {
+        TEXT,
+        IMAGE,
+        DIVISION,
+        DATE
+    }
+
+    private record Field(String name, String column, boolean required, Check check) {
+    }
+
+    // duplicateKey names what makes two rows the same, for the messages on skipped rows
+    private record Spec(
+            ContentCache.Region region,
+            StatsService.Counter counter,
+            String staging,
+            String stagingColumns,
+            List<Field> fields,
+            String duplicateKey,
+            String mergeSql
+    ) {
+    }
+
+    private record MergeResult(Map<String, Long> counts, List<ImportError> skippedRows) {
+    }
+
+    // A parsed record: either its values by field name or the reason it could not be read
+    private record Row(long line, Map<String, String> values, ImportError error) {
+    }
+
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    // Same bound as CsvRecordReader: a body without line breaks must not be read into one string
+    private static final int MAX_LINE_CHARS = 16 * 1024 * 1024;
+
+    // Titles already present (per division for case studies) or repeated in the file are skipped, so
+    // re-running an import only adds what is new. The single parameter is the creation timestamp. The
+    // result has one row per division with the inserted count (line_no NULL), then one row per skipped
+    // line with the first line of its key in the file (equal to line_no when the key already existed).
+    private static final Spec CASE_STUDIES = new Spec(
+            ContentCache.Region.CASE_STUDIES,
+            StatsService.Counter.CASE_STUDIES,
+            "case_study_import",
+            "line_no BIGINT, title TEXT, description TEXT, image TEXT, division TEXT, " +
+                    "client TEXT, location TEXT, completion_date TEXT",
+            List.of(
+                    new Field("title", "title", true, Check.TEXT),
+                    new Field("description", "description", true, Check.TEXT),
+                    new Field("image", "image", true, Check.IMAGE),
+                    new Field("division", "division", true, Check.DIVISION),
+                    new Field("client", "client", false, Check.TEXT),
+                    new Field("location", "location", false, Check.TEXT),
+                    new Field("completionDate", "completion_date", false, Check.TEXT)
+            ),
+            "title and division",
+            "WITH params AS (SELECT CAST(? AS timestamp) AS ts), " +
+                    "ranked AS (SELECT s.*, MIN(line_no) OVER (PARTITION BY division, title) AS first_line " +
+                    "FROM case_study_import s), " +
+                    "candidates AS (SELECT * FROM ranked r WHERE r.line_no = r.first_line " +
+                    "AND NOT EXISTS (SELECT 1 FROM case_studies c WHERE c.division = r.division " +
+                    "AND c.title = r.title)), " +
+                    "inserted AS (" +
+                    "INSERT INTO case_studies (title, description, image, division, client, location, " +
+                    "completion_date, created_at, updated_at, version) " +
+                    "SELECT s.title, s.description, s.image, s.division, s.client, s.location, " +
+                    "s.completion_date, p.ts, p.ts, 0 " +
+                    "FROM candidates s CROSS JOIN params p " +
+                    "ORDER BY s.line_no RETURNING division) " +
+                    "SELECT division, COUNT(*), NULL::bigint AS line_no, NULL::bigint FROM inserted GROUP BY division " +
+                    "UNION ALL " +
+                    "SELECT r.division, NULL, r.line_no, r.first_line FROM ranked r " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM candidates c WHERE c.line_no = r.line_no) " +
+                    "ORDER BY line_no NULLS FIRST"
+    );
+
+    private static final Spec NEWS = new Spec(
+            ContentCache.Region.NEWS,
+            StatsService.Counter.NEWS,
+            "news_import",
+            "line_no BIGINT, title TEXT, content TEXT, image TEXT, summary TEXT, date DATE",
+            List.of(
+                    new Field("title", "title", true, Check.TEXT),
+                    new Field("content", "content", true, Check.TEXT),
+                    new Field("image", "image", true, Check.IMAGE),
+                    new Field("summary", "summary", true, Check.TEXT),
+                    new Field("date", "date", false, Check.DATE)
+            ),
+            "title",
+            "WITH params AS (SELECT CAST(? AS timestamp) AS ts), " +
+                    "ranked AS (SELECT s.*, MIN(line_no) OVER (PARTITION BY title) AS first_line FROM news_import s), " +
+                    "candidates AS (SELECT * FROM ranked r WHERE r.line_no = r.first_line " +
+                    "AND NOT EXISTS (SELECT 1 FROM news n WHERE n.title = r.title)), " +
+                    "inserted AS (" +
+                    "INSERT INTO news (title, content, image, summary, date, created_at, updated_at, version) " +
+                    "SELECT s.title, s.content, s.image, s.summary, COALESCE(s.date, p.ts::date), p.ts, p.ts, 0 " +
+                    "FROM candidates s CROSS JOIN params p " +
+                    "ORDER BY s.line_no RETURNING 1) " +
+                    "SELECT NULL::text AS division, COUNT(*), NULL::bigint AS line_no, NULL::bigint FROM inserted " +
+                    "UNION ALL " +
+                    "SELECT NULL, NULL, r.line_no, r.first_line FROM ranked r " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM candidates c WHERE c.line_no = r.line_no) " +
+                    "ORDER BY line_no NULLS FIRST"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MediaStorageService mediaStorageService;
+    private final StatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+
+    @Value("${content-import.max-errors:100}")
+    private int maxErrors;
+
+    public ImportReport importCaseStudies(InputStream body, ImportFormat format) {
+        return importRows(CASE_STUDIES, body, format);
+    }
+
+    public ImportReport importNews(InputStream body, ImportFormat format) {
+        return importRows(NEWS, body, format);
+    }
+
+    private ImportReport importRows(Spec spec, InputStream body, ImportFormat format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        RowSource source = format == ImportFormat.CSV ? csvRows(spec, reader) : ndjsonRows(reader);
+
+        long[] received = new long[1];
+        long[] staged = new long[1];
+        long[] failed = new long[1];
+        List<ImportError> errors = new ArrayList<>();
+        List<String> createdMedia = new ArrayList<>();
+
+        MergeResult result;
+        try {
+            result = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                    (ConnectionCallback<MergeResult>) connection -> {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("CREATE TEMP TABLE " + spec.staging() + " (" + spec.stagingColumns() +
+                                    ") ON COMMIT DROP");
+                        }
+
+                        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql(spec));
+                        try {
+                            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+                            Row row;
+                            while ((row = source.next()) != null) {
+                                received[0]++;
+                                ImportError error = row.error() != null ? row.error() : appendRow(spec, row, buffer, createdMedia);
+                                if (error != null) {
+                                    failed[0]++;
+                                    if (errors.size() < maxErrors) {
+                                        errors.add(error);
+                                    }
+                                    continue;
+                                }
+                                staged[0]++;
+                                if (buffer.length() >= COPY_BUFFER_CHARS) {
+                                    writeToCopy(copy, buffer);
+                                }
+                            }
+                            writeToCopy(copy, buffer);
+                            copy.endCopy();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Failed to read import", e);
+                        } finally {
+                            if (copy.isActive()) {
+                                copy.cancelCopy();
+                            }
+                        }
+
+                        MergeResult merged = staged[0] > 0 ? merge(connection, spec) : new MergeResult(Map.of(), List.of());
+                        statsService.recordCreated(spec.counter(), merged.counts());
+                        return merged;
+                    }));
+        } finally {
+            // Blobs written for rows that were rejected, skipped or rolled back are referenced by nothing
+            discardUnreferenced(createdMedia);
+        }
+
+        Map<String, Long> inserted = result.counts();
+        long imported = inserted.values().stream().mapToLong(Long::longValue).sum();
+        if (imported > 0) {
+            // The rows were written with plain SQL, which Hibernate's query cache does not track
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+            eventPublisher.publishEvent(new ContentChangedEvent(spec.region(),
+                    inserted.keySet().stream().filter(division -> division != null).toArray(String[]::new)));
+        }
+
+        long skipped = staged[0] - imported;
+        return new ImportReport(received[0], imported, skipped, result.skippedRows(),
+                skipped > result.skippedRows().size(), failed[0], errors, failed[0] > errors.size());
+    }
+
+    private void discardUnreferenced(List<String> createdMedia) {
+        if (createdMedia.isEmpty()) {
+            return;
+        }
+        try {
+            String[] paths = createdMedia.stream()
+                    .map(hash -> MediaStorageService.MEDIA_PATH_PREFIX + hash)
+                    .toArray(String[]::new);
+            // Another write may have picked up the same blob in the meantime
+            Set<String> referenced = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT image FROM news WHERE image = ANY(?) UNION SELECT image FROM case_studies WHERE image = ANY(?)",
+                    String.class, paths, paths));
+            for (String hash : createdMedia) {
+                if (!referenced.contains(MediaStorageService.MEDIA_PATH_PREFIX + hash)) {
+                    mediaStorageService.delete(hash);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove {} media files written by an import", createdMedia.size(), e);
+        }
+    }
+
+    private static String copySql(Spec spec) {
+        StringBuilder columns = new StringBuilder("line_no");
+        for (Field field : spec.fields()) {
+            columns.append(", ").append(field.column());
+        }
+        return "COPY " + spec.staging() + " (" + columns + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    // Validates the row and appends it to the COPY buffer; returns the first problem instead if there is one
+    private ImportError appendRow(Spec spec, Row row, StringBuilder buffer, List<String> createdMedia) {
+        List<String> values = new ArrayList<>(spec.fields().size());
+        for (Field field : spec.fields()) {
+            String value = row.values().get(field.name());
+            if (value != null && value.isBlank()) {
+                value = null;
+            }
+            if (value == null) {
+                if (field.required()) {
+                    return new ImportError(row.line(), field.name(), field.name() + " is required");
+                }
+                values.add(null);
+                continue;
+            }
+            // PostgreSQL text cannot hold U+0000, and one such value would fail the whole COPY
+            if (value.indexOf('\u0000') >= 0) {
+                return new ImportError(row.line(), field.name(), field.name() + " must not contain NUL characters");
+            }
+            try {
+                values.add(check(field.check(), value.trim(), createdMedia));
+            } catch (IllegalArgumentException e) {
+                return new ImportError(row.line(), field.name(), e.getMessage());
+            }
+        }
+
+        buffer.append(row.line());
+        for (String value : values) {
+            buffer.append(',');
+            if (value != null) {
+                buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+            }
+        }
+        buffer.append('\n');
+        return null;
+    }
+
+    private String check(Check check, String value, List<String> createdMedia) {
+        return switch (check) {
+            case TEXT -> value;
+            // Inline data URLs are stored like uploads through the admin forms
+            case IMAGE -> mediaStorageService.externalize(value, createdMedia::add);
+            case DIVISION -> {
+                if (Division.fromDisplayName(value) == null) {
+                    throw new IllegalArgumentException("Invalid division: " + value);
+                }
+                yield value;
+            }
+            case DATE -> {
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(value);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid date: " + value + " (expected YYYY-MM-DD)");
+                }
+                // Signed or five-digit years parse here but not in PostgreSQL
+                if (date.getYear() < 1 || date.getYear() > 9999) {
+                    throw new IllegalArgumentException("Invalid date: " + value + " (expected YYYY-MM-DD)");
+                }
+                yield date.toString();
+            }
+        };
+    }
+
+    private static void writeToCopy(CopyIn copy, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private MergeResult merge(Connection connection, Spec spec) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> counts = new HashMap<>();
+        List<ImportError> skippedRows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(spec.mergeSql())) {
+            statement.setObject(1, now);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    long line = rs.getLong(3);
+                    if (rs.wasNull()) {
+                        counts.put(rs.getString(1), rs.getLong(2));
+                    } else if (skippedRows.size() < maxErrors) {
+                        long firstLine = rs.getLong(4);
+                        skippedRows.add(new ImportError(line, "title", firstLine == line
+                                ? "Skipped: a row with this " + spec.duplicateKey() + " already exists"
+                                : "Skipped: same " + spec.duplicateKey() + " as line " + firstLine));
+                    }
+                }
+            }
+        }
+        counts.values().removeIf(count -> count == 0);
+        return new MergeResult(counts, skippedRows);
+    }
+
+    private RowSource csvRows(Spec spec, BufferedReader reader) {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        return new RowSource() {
+            private String[] header;
+
+            @Override
+            public Row next() throws IOException {
+                if (header == null) {
+                    header = readHeader(spec, csv);
+                }
+                List<String> record = csv.next();
+                if (record == null) {
+                    return null;
+                }
+                if (record.size() != header.length) {
+                    return new Row(csv.recordLine(), null, new ImportError(csv.recordLine(), null,
+                            "Expected " + header.length + " fields, found " + record.size()));
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < header.length; i++) {
+                    if (header[i] != null) {
+                        values.put(header[i], record.get(i));
+                    }
+                }
+                return new Row(csv.recordLine(), values, null);
+            }
+        };
+    }
+
+    // Maps header cells to field names, ignoring case, spaces and underscores; unknown columns map to null
+    private static String[] readHeader(Spec spec, CsvRecordReader csv) throws IOException {
+        List<String> cells = csv.next();
+        if (cells == null) {
+            throw new IllegalArgumentException("Import is empty");
+        }
+        Map<String, String> known = new LinkedHashMap<>();
+        for (Field field : spec.fields()) {
+            known.put(normalizeHeader(field.name()), field.name());
+        }
+
+        String[] header = new String[cells.size()];
+        for (int i = 0; i < cells.size(); i++) {
+            header[i] = known.get(normalizeHeader(cells.get(i)));
+        }
+        for (Field field : spec.fields()) {
+            if (field.required() && !Arrays.asList(header).contains(field.name())) {
+                throw new IllegalArgumentException("Missing required column: " + field.name());
+            }
+        }
+        return header;
+    }
+
+    private static String normalizeHeader(String name) {
+        return name.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        return new RowSource() {
+            private long line;
+
+            @Override
+            public Row next() throws IOException {
+                String text;
+                do {
+                    line++;
+                    text = readLine(reader, line);
+                } while (text != null && text.isBlank());
+                if (text == null) {
+                    return null;
+                }
+
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(text);
+                } catch (JsonProcessingException e) {
+                    return new Row(line, null, new ImportError(line, null, "Malformed JSON"));
+                }
+                if (!node.isObject()) {
+                    return new Row(line, null, new ImportError(line, null, "Expected a JSON object"));
+                }
+
+                Map<String, String> values = new HashMap<>();
+                var fields = node.fields();
+                while (fields.hasNext()) {
+                    var entry = fields.next();
+                    JsonNode value = entry.getValue();
+                    if (value.isContainerNode()) {
+                        return new Row(line, null, new ImportError(line, entry.getKey(), entry.getKey() + " must be a string"));
+                    }
+                    values.put(entry.getKey(), value.isNull() ? null : value.asText());
+                }
+                return new Row(line, values, null);
+            }
+        };
+    }
+
+    // Like BufferedReader.readLine, but fails instead of buffering a line longer than MAX_LINE_CHARS
+    private static String readLine(BufferedReader reader, long line) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (text.length() >= MAX_LINE_CHARS) {
+                throw new IllegalArgumentException("NDJSON line " + line + " is too long");
+            }
+            text.append((char) c);
+        }
+        if (c == -1 && text.isEmpty()) {
+            return null;
+        }
+        int length = text.length();
+        if (length > 0 && text.charAt(length - 1) == '\r') {
+            text.setLength(length - 1);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,247 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.metropolitan.backend.dto.ContentVersion;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the hottest public list pages as ready-to-send JSON, in identity and gzip form, for the
+ * content version they were rendered from. Requests for an unchanged version copy bytes to the
+ * response without building or serializing the page; admin writes trigger a background re-render.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentSnapshotService {
+
+    // Background re-renders waiting beyond this are dropped; the next request renders the page itself
+    private static final int REBUILD_QUEUE = 256;
+
+    public record Snapshot(String etag, long lastModified, byte[] identity, byte[] gzip) {
+
+        public String gzipETag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        int weight() {
+            return identity.length + gzip.length;
+        }
+    }
+
+    private record Entry(Snapshot snapshot, Supplier<ContentVersion> version, Supplier<?> body, String resource) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${content-snapshots.enabled:true}")
+    private boolean enabled;
+
+    // Pages differ a lot in size, so the cache is bounded by the bytes it holds rather than by entry count
+    @Value("${content-snapshots.max-bytes:33554432}")
+    private long maxBytes;
+
+    private Cache<ContentCache.Key, Entry> snapshots;
+    private ThreadPoolExecutor rebuildExecutor;
+
+    private final Map<ContentCache.Key, CompletableFuture<Entry>> rendering = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ContentCache.Key key, Entry entry) -> entry.snapshot().weight())
+                .build();
+
+        rebuildExecutor = new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(REBUILD_QUEUE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "content-snapshot-rebuild");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the snapshot of {@code key} for the current content version, rendering it when the
+     * stored one is missing or older. Concurrent requests for a stale key share one render.
+     */
+    public Snapshot get(ContentCache.Key key, String resource, Supplier<ContentVersion> version, Supplier<?> body) {
+        if (!enabled) {
+            return render(version.get(), resource, body);
+        }
+        ContentVersion current = version.get();
+        String etag = current.toETag(resource);
+
+        Entry existing = snapshots.getIfPresent(key);
+        if (existing != null && existing.snapshot().etag().equals(etag)) {
+            return existing.snapshot();
+        }
+
+        // Rendering queries the database, so it runs outside the map's bin locks (a blocking call under
+        // a monitor pins a virtual thread to its carrier); waiters share the in-flight render instead
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> running = rendering.putIfAbsent(key, created);
+        if (running != null) {
+            Entry shared = join(running);
+            return shared.snapshot().etag().equals(etag) ? shared.snapshot() : render(current, resource, body);
+        }
+
+        try {
+            Entry entry = new Entry(render(current, resource, body), version, body, resource);
+            snapshots.put(key, entry);
+            created.complete(entry);
+            return entry.snapshot();
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            rendering.remove(key, created);
+        }
+    }
+
+    /**
+     * Writes the snapshot in the encoding the client accepts, or returns null after a 304.
+     */
+    public ResponseEntity<byte[]> respond(Snapshot snapshot, WebRequest request) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? snapshot.gzipETag() : snapshot.etag();
+        if (request.checkNotModified(etag, snapshot.lastModified())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? snapshot.gzip() : snapshot.identity());
+    }
+
+    // Runs after the commit and after ContentCache has evicted, so re-renders read fresh pages
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onContentChanged(ContentChangedEvent event) {
+        for (ContentCache.Key key : snapshots.asMap().keySet()) {
+            if (key.region() != event.region()) {
+                continue;
+            }
+            try {
+                rebuildExecutor.execute(() -> refresh(key));
+            } catch (RejectedExecutionException e) {
+                // A full queue just means the next request renders this page itself
+                snapshots.invalidate(key);
+            }
+        }
+    }
+
+    private void refresh(ContentCache.Key key) {
+        try {
+            Entry existing = snapshots.getIfPresent(key);
+            if (existing == null) {
+                return;
+            }
+            ContentVersion current = existing.version().get();
+            if (existing.snapshot().etag().equals(current.toETag(existing.resource()))) {
+                return;
+            }
+            Snapshot snapshot = render(current, existing.resource(), existing.body());
+            // Only replaces the entry it started from; a newer render or an eviction wins
+            snapshots.asMap().replace(key, existing,
+                    new Entry(snapshot, existing.version(), existing.body(), existing.resource()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild content snapshot {}", key, e);
+            snapshots.invalidate(key);
+        }
+    }
+
+    private static Entry join(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Snapshot render(ContentVersion version, String resource, Supplier<?> body) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body.get());
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(identity);
+            }
+            return new Snapshot(version.toETag(resource), version.lastModifiedMillis(), identity, compressed.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render content snapshot " + resource, e);
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // gzip;q=0 explicitly refuses the encoding
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
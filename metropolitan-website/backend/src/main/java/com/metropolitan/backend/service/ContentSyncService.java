@@ -0,0 +1,258 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.model.News;
+import com.metropolitan.backend.model.Testimonial;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-process caches of every backend instance coherent. Local content and admin changes are
+ * broadcast with {@code pg_notify} once committed; a dedicated LISTEN connection on each node
+ * replays other nodes' changes as remote {@link ContentChangedEvent}s and {@link AdminChangedEvent}s.
+ * Whenever notifications may have been missed (reconnect, sequence gap) the node flushes all of its
+ * caches instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentSyncService {
+
+    // Either region (and divisions) or admin is set
+    private record Message(String origin, long sequence, ContentCache.Region region, String[] divisions, String admin) {
+    }
+
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30000;
+
+    // An idle LISTEN connection never reads a reply, so a half-open socket would go unnoticed; a periodic
+    // round trip bounded by the socket timeout turns that into an SQLException and a reconnect
+    private static final long LIVENESS_INTERVAL_MILLIS = 30000;
+    private static final int SOCKET_TIMEOUT_SECONDS = 15;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ContentCache contentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${content-sync.enabled:true}")
+    private boolean enabled;
+
+    @Value("${content-sync.channel:content_changed}")
+    private String channel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> lastSequenceByOrigin = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void broadcast(ContentChangedEvent event) {
+        if (!enabled || event.remote()) {
+            return;
+        }
+        try {
+            notify(new Message(nodeId, sequence.incrementAndGet(), event.region(), event.divisions(), null));
+        } catch (JsonProcessingException | DataAccessException e) {
+            // The write itself is committed; other nodes catch up through their TTL or next flush
+            log.warn("Failed to broadcast content change for {}", event.region(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void broadcast(AdminChangedEvent event) {
+        if (!enabled || event.remote() || event.email() == null) {
+            return;
+        }
+        try {
+            notify(new Message(nodeId, sequence.incrementAndGet(), null, null, event.email()));
+        } catch (JsonProcessingException | DataAccessException e) {
+            // Other nodes pick the change up when their cached principal expires
+            log.warn("Failed to broadcast admin change for {}", event.email(), e);
+        }
+    }
+
+    private void notify(Message message) throws JsonProcessingException {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, objectMapper.writeValueAsString(message));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "content-sync-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        closeQuietly(listenConnection);
+    }
+
+    private void listen() {
+        long reconnectDelay = 1000;
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                // Anything sent while we were disconnected is lost
+                if (connectedBefore) {
+                    flushAll();
+                }
+                connectedBefore = true;
+                reconnectDelay = 1000;
+                long lastCheck = System.currentTimeMillis();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() - lastCheck >= LIVENESS_INTERVAL_MILLIS) {
+                        checkAlive(connection);
+                        lastCheck = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Content sync listener disconnected, retrying in {}ms", reconnectDelay, e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MILLIS);
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private Properties connectionProperties() {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("socketTimeout", String.valueOf(SOCKET_TIMEOUT_SECONDS));
+        properties.setProperty("ApplicationName", "content-sync-listener");
+        return properties;
+    }
+
+    private static void checkAlive(Connection connection) throws SQLException {
+        // Returns once the server has answered, or fails after the socket timeout
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+    }
+
+    private void apply(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed content change notification: {}", payload, e);
+            return;
+        }
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+
+        Long previous = lastSequenceByOrigin.put(message.origin(), message.sequence());
+        if (previous != null && message.sequence() > previous + 1) {
+            flushAll();
+            return;
+        }
+
+        if (message.admin() != null) {
+            eventPublisher.publishEvent(new AdminChangedEvent(message.admin(), true));
+            return;
+        }
+        evictSecondLevelCache(message.region());
+        eventPublisher.publishEvent(new ContentChangedEvent(message.region(), message.divisions(), true));
+    }
+
+    private void evictSecondLevelCache(ContentCache.Region region) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        switch (region) {
+            case NEWS -> cache.evictEntityData(News.class);
+            case CASE_STUDIES -> cache.evictEntityData(CaseStudy.class);
+            case TESTIMONIALS -> cache.evictEntityData(Testimonial.class);
+        }
+        // Query results are only invalidated by local writes, so drop them too
+        cache.evictDefaultQueryRegion();
+    }
+
+    private void flushAll() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        contentCache.invalidateAll();
+        for (ContentCache.Region region : ContentCache.Region.values()) {
+            eventPublisher.publishEvent(new ContentChangedEvent(region, new String[0], true));
+        }
+        eventPublisher.publishEvent(new AdminChangedEvent(null, true));
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Shutting down anyway
+        }
+    }
+}
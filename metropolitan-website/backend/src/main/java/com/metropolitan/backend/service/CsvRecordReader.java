@@ -0,0 +1,121 @@
+package com.metropolitan.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks.
+ * Only the current record is held in memory.
+ */
+final class CsvRecordReader {
+
+    // Guards against an unterminated quote swallowing the rest of the upload
+    private static final int MAX_RECORD_CHARS = 16 * 1024 * 1024;
+
+    private final Reader reader;
+    private int pushback = -2;
+    private boolean started;
+    private long line = 1;
+    private long recordLine;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} started.
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at the end of input. Blank lines are skipped.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            consumeLineBreak(c);
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int recordChars = 0;
+
+        while (true) {
+            if (++recordChars > MAX_RECORD_CHARS) {
+                throw new IllegalArgumentException("CSV record starting on line " + recordLine + " is too long");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c != -1) {
+                    consumeLineBreak(c);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Called after reading \n or \r; swallows the \n of a \r\n pair
+    private void consumeLineBreak(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int following = read();
+            if (following != '\n') {
+                pushback = following;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            // Spreadsheet exports often start with a byte order mark
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+}
@@ -0,0 +1,50 @@
+package com.metropolitan.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class HibernateStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Second-level and query cache counters, per region, plus the statement count they save.
+     */
+    public Map<String, Object> cacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+            Map<String, Object> regionStats = new LinkedHashMap<>();
+            regionStats.put("hitCount", region.getHitCount());
+            regionStats.put("missCount", region.getMissCount());
+            regionStats.put("putCount", region.getPutCount());
+            regionStats.put("elementCountInMemory", region.getElementCountInMemory());
+            regions.put(regionName, regionStats);
+        }
+
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hitCount", statistics.getQueryCacheHitCount());
+        queryCache.put("missCount", statistics.getQueryCacheMissCount());
+        queryCache.put("putCount", statistics.getQueryCachePutCount());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        result.put("regions", regions);
+        result.put("queryCache", queryCache);
+        result.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        return result;
+    }
+}
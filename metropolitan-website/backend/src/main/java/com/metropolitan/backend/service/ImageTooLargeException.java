@@ -0,0 +1,13 @@
+package com.metropolitan.backend.service;
+
+/**
+ * Thrown when a stored image has more pixels than {@code media.variants.max-source-pixels} allows to decode.
+ */
+public class ImageTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ImageTooLargeException(int width, int height, long maxPixels) {
+        super("Image of " + width + "x" + height + " pixels exceeds the resize limit of " + maxPixels + " pixels");
+    }
+}
@@ -1,50 +1,106 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.dto.PageCursor;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.Inquiry;
 import com.metropolitan.backend.repository.InquiryRepository;
+import com.metropolitan.backend.repository.ListQuery;
+import com.metropolitan.backend.repository.ListQueryExecutor;
+import com.metropolitan.backend.repository.ListSort;
+import com.metropolitan.backend.repository.SortField;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class InquiryService {
 
+    private static final ListSort DEFAULT_SORT = ListSort.descending(SortField.CREATED_AT);
+    private static final Set<SortField> SORT_FIELDS = EnumSet.of(SortField.CREATED_AT);
+
     private final InquiryRepository inquiryRepository;
+    private final ListQueryExecutor listQueryExecutor;
+    private final PageTotalResolver pageTotalResolver;
+    private final StatsService statsService;
 
+    @Transactional
     public Inquiry createInquiry(Inquiry inquiry) {
-        return inquiryRepository.save(inquiry);
+        inquiry.setSubmissionId(UUID.randomUUID());
+        Inquiry saved = inquiryRepository.save(inquiry);
+        statsService.recordCreated(StatsService.Counter.INQUIRIES, saved.getDivision(), saved.getCreatedAt());
+        return saved;
     }
 
     public PageResponse<Inquiry> getInquiriesWithFilters(
             LocalDateTime fromDate,
             LocalDateTime toDate,
+            String sort,
+            TotalMode totalMode,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .createdBetween(fromDate, toDate);
+
+        Slice<Inquiry> inquiryPage = listQueryExecutor.findSlice(Inquiry.class, query, page, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(Inquiry.class, query),
+                "inquiries",
+                query
+        );
+
+        return PageResponse.of(inquiryPage, total, totalMode == TotalMode.ESTIMATE);
+    }
+
+    public PageResponse<Inquiry> getInquiriesAfterCursor(
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            String sort,
+            String cursor,
+            TotalMode totalMode,
+            int limit
+    ) {
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .createdBetween(fromDate, toDate)
+                .after(PageCursor.decode(cursor));
 
-        Page<Inquiry> inquiryPage = inquiryRepository.findWithFilters(fromDate, toDate, pageable);
-        long total = inquiryRepository.countWithFilters(fromDate, toDate);
+        List<Inquiry> rows = listQueryExecutor.findAfter(Inquiry.class, query, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(Inquiry.class, query),
+                "inquiries",
+                query
+        );
 
-        return PageResponse.of(inquiryPage.getContent(), total, page, limit);
+        return PageResponse.ofCursor(
+                rows,
+                total,
+                totalMode == TotalMode.ESTIMATE,
+                limit,
+                i -> query.cursorAt(i.getCreatedAt(), i.getId())
+        );
     }
 
     public Optional<Inquiry> getInquiry(Long id) {
         return inquiryRepository.findById(id);
     }
 
+    @Transactional
     public void deleteInquiry(Long id) {
-        if (!inquiryRepository.existsById(id)) {
-            throw new RuntimeException("Inquiry not found with id: " + id);
-        }
-        inquiryRepository.deleteById(id);
+        Inquiry inquiry = inquiryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Inquiry not found with id: " + id));
+        inquiryRepository.delete(inquiry);
+        statsService.recordDeleted(StatsService.Counter.INQUIRIES, inquiry.getDivision(), inquiry.getCreatedAt());
     }
 }
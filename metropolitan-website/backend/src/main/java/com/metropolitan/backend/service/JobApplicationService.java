@@ -1,50 +1,106 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.dto.PageCursor;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.JobApplication;
 import com.metropolitan.backend.repository.JobApplicationRepository;
+import com.metropolitan.backend.repository.ListQuery;
+import com.metropolitan.backend.repository.ListQueryExecutor;
+import com.metropolitan.backend.repository.ListSort;
+import com.metropolitan.backend.repository.SortField;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class JobApplicationService {
 
+    private static final ListSort DEFAULT_SORT = ListSort.descending(SortField.CREATED_AT);
+    private static final Set<SortField> SORT_FIELDS = EnumSet.of(SortField.CREATED_AT);
+
     private final JobApplicationRepository jobApplicationRepository;
+    private final ListQueryExecutor listQueryExecutor;
+    private final PageTotalResolver pageTotalResolver;
+    private final StatsService statsService;
 
+    @Transactional
     public JobApplication createJobApplication(JobApplication jobApplication) {
-        return jobApplicationRepository.save(jobApplication);
+        jobApplication.setSubmissionId(UUID.randomUUID());
+        JobApplication saved = jobApplicationRepository.save(jobApplication);
+        statsService.recordCreated(StatsService.Counter.JOB_APPLICATIONS, null, saved.getCreatedAt());
+        return saved;
     }
 
     public PageResponse<JobApplication> getJobApplicationsWithFilters(
             LocalDateTime fromDate,
             LocalDateTime toDate,
+            String sort,
+            TotalMode totalMode,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .createdBetween(fromDate, toDate);
+
+        Slice<JobApplication> jobApplicationPage = listQueryExecutor.findSlice(JobApplication.class, query, page, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(JobApplication.class, query),
+                "job_applications",
+                query
+        );
+
+        return PageResponse.of(jobApplicationPage, total, totalMode == TotalMode.ESTIMATE);
+    }
+
+    public PageResponse<JobApplication> getJobApplicationsAfterCursor(
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            String sort,
+            String cursor,
+            TotalMode totalMode,
+            int limit
+    ) {
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .createdBetween(fromDate, toDate)
+                .after(PageCursor.decode(cursor));
 
-        Page<JobApplication> jobApplicationPage = jobApplicationRepository.findWithFilters(fromDate, toDate, pageable);
-        long total = jobApplicationRepository.countWithFilters(fromDate, toDate);
+        List<JobApplication> rows = listQueryExecutor.findAfter(JobApplication.class, query, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(JobApplication.class, query),
+                "job_applications",
+                query
+        );
 
-        return PageResponse.of(jobApplicationPage.getContent(), total, page, limit);
+        return PageResponse.ofCursor(
+                rows,
+                total,
+                totalMode == TotalMode.ESTIMATE,
+                limit,
+                j -> query.cursorAt(j.getCreatedAt(), j.getId())
+        );
     }
 
     public Optional<JobApplication> getJobApplication(Long id) {
         return jobApplicationRepository.findById(id);
     }
 
+    @Transactional
     public void deleteJobApplication(Long id) {
-        if (!jobApplicationRepository.existsById(id)) {
-            throw new RuntimeException("Job Application not found with id: " + id);
-        }
-        jobApplicationRepository.deleteById(id);
+        JobApplication jobApplication = jobApplicationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Job Application not found with id: " + id));
+        jobApplicationRepository.delete(jobApplication);
+        statsService.recordDeleted(StatsService.Counter.JOB_APPLICATIONS, null, jobApplication.getCreatedAt());
     }
 }
@@ -1,74 +1,212 @@
 package com.metropolitan.backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    /**
+     * Subject, expiry and id of a token whose signature has been checked. The id is kept as two longs so
+     * revocation checks on the hot path need no {@link UUID} instance.
+     */
+    public record VerifiedToken(String subject, long expiresAtMillis, long idHigh, long idLow) {
+
+        public boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+
+        public UUID id() {
+            return new UUID(idHigh, idLow);
+        }
+    }
+
+    private static final String TYPE_CLAIM = "type";
+    private static final String ACCESS_TYPE = "access";
+    private static final String REFRESH_TYPE = "refresh";
+
+    private final TokenRevocationService tokenRevocationService;
+
     @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String secret;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
+    @Value("${jwt.expiration:900000}") // 15 minutes in milliseconds
     private Long expiration;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.refresh-expiration:1209600000}") // 14 days in milliseconds
+    private Long refreshExpiration;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    // Built once; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+
+    // SHA-256 of the token -> verified claims, each entry living until its token expires
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+                        return Math.max(0, remainingMillis) * 1_000_000;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
     }
 
-    public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Returns the access token's subject if its signature is valid and it has neither expired nor been
+     * revoked. A token seen before is answered from memory, so only the first request with it pays for the
+     * HMAC check; the revocation check runs every time.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified == null) {
+            verified = decode(token, ACCESS_TYPE).orElse(null);
+            if (verified == null) {
+                // Invalid and expired tokens are not cached; they fail again on the next attempt
+                return Optional.empty();
+            }
+            verifiedTokens.put(key, verified);
+        }
+
+        if (verified.isExpired(now) || tokenRevocationService.isRevoked(verified.idHigh(), verified.idLow())) {
+            return Optional.empty();
+        }
+        return Optional.of(verified);
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Like {@link #verify(String)} for refresh tokens, which are used rarely and therefore not cached.
+     */
+    public Optional<VerifiedToken> verifyRefreshToken(String token) {
+        return decode(token, REFRESH_TYPE)
+                .filter(verified -> !tokenRevocationService.isRevoked(verified.idHigh(), verified.idLow()));
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Checks only the signature and expiry, for either token type.
+     */
+    public Optional<VerifiedToken> decode(String token) {
+        return decode(token, null);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private Optional<VerifiedToken> decode(String token, String expectedType) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        // Tokens issued before ids were added cannot be revoked, so they are no longer accepted
+        if (claims.getSubject() == null || claims.getExpiration() == null || claims.getId() == null) {
+            return Optional.empty();
+        }
+        if (expectedType != null && !expectedType.equals(claims.get(TYPE_CLAIM, String.class))) {
+            return Optional.empty();
+        }
+
+        UUID id;
+        try {
+            id = UUID.fromString(claims.getId());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Optional.of(new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime(),
+                id.getMostSignificantBits(), id.getLeastSignificantBits()));
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Map<String, Object> stats() {
+        var stats = verifiedTokens.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", verifiedTokens.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("revocation", tokenRevocationService.stats());
+        return result;
     }
 
-    public String generateToken(String email) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, email);
+    public String generateAccessToken(String email) {
+        return createToken(ACCESS_TYPE, email, expiration);
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    public String generateRefreshToken(String email) {
+        return createToken(REFRESH_TYPE, email, refreshExpiration);
+    }
+
+    public long getAccessTokenExpirationSeconds() {
+        return expiration / 1000;
+    }
+
+    private String createToken(String type, String subject, long lifetimeMillis) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TYPE_CLAIM, type);
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + lifetimeMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public Boolean validateToken(String token, String email) {
-        final String tokenEmail = extractEmail(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,75 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.AdminUser;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for {@code admin_user.last_login}. Logins only record the time in memory; the
+ * latest time per admin is written in one batch every {@code auth.last-login.flush-interval} ms and on
+ * shutdown. Readers merge the buffered value with the stored one through {@link #latest(AdminUser)}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LastLoginBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Long adminId, LocalDateTime loginTime) {
+        pending.merge(adminId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    public LocalDateTime latest(AdminUser admin) {
+        LocalDateTime buffered = pending.get(admin.getId());
+        LocalDateTime stored = admin.getLastLogin();
+        if (buffered == null) {
+            return stored;
+        }
+        return stored == null || buffered.isAfter(stored) ? buffered : stored;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, LocalDateTime> batch = new HashMap<>(pending);
+        List<Object[]> args = new ArrayList<>(batch.size());
+        batch.forEach((id, loginTime) -> {
+            Timestamp timestamp = Timestamp.valueOf(loginTime);
+            args.add(new Object[]{timestamp, id, timestamp});
+        });
+
+        try {
+            // Never move last_login backwards, e.g. when another instance flushed a later login first
+            jdbcTemplate.batchUpdate(
+                    "UPDATE admin_user SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)",
+                    args);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} last login times", batch.size(), e);
+            return;
+        }
+        // Keep entries that were updated while the batch was being written
+        batch.forEach(pending::remove);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
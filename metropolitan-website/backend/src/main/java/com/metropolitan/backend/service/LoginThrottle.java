@@ -0,0 +1,118 @@
+package com.metropolitan.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts login attempts per email and per client address in fixed windows. An attempt is counted before
+ * its password is hashed and refunded when it succeeds, so concurrent guesses cannot all pass the check
+ * before any of them is recorded. Keys are hashed with a per-process random seed into a fixed array of
+ * stripes, each a single {@code long} (window number in the high half, count in the low half) updated with
+ * compare-and-set, so there are no locks and memory does not grow with the number of attackers. Without
+ * the seed nobody can pick keys that share a stripe with a victim's.
+ */
+@Service
+public class LoginThrottle {
+
+    private static final int STRIPES = 4096;
+
+    private static final long SEED = new SecureRandom().nextLong();
+
+    private final AtomicLongArray emailFailures = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray addressFailures = new AtomicLongArray(STRIPES);
+    private final LongAdder throttled = new LongAdder();
+
+    @Value("${auth.throttle.window:15m}")
+    private Duration window;
+
+    @Value("${auth.throttle.max-failures-per-email:5}")
+    private int maxFailuresPerEmail;
+
+    @Value("${auth.throttle.max-failures-per-address:20}")
+    private int maxFailuresPerAddress;
+
+    /**
+     * Counts an attempt for both keys, then fails with {@link LoginThrottledException} (and takes the
+     * attempt back) if either is over its limit in the current window. Every attempt that passes must
+     * end in {@link #release} unless its password was wrong, or it stays counted as a failure.
+     */
+    public void acquire(String email, String address) {
+        long windowNumber = currentWindow();
+        long emailCount = add(emailFailures, emailKey(email), windowNumber, 1);
+        long addressCount = add(addressFailures, address, windowNumber, 1);
+        if (emailCount > maxFailuresPerEmail || addressCount > maxFailuresPerAddress) {
+            release(email, address, windowNumber);
+            throttled.increment();
+            long windowMillis = window.toMillis();
+            long retryAfterMillis = windowMillis - System.currentTimeMillis() % windowMillis;
+            throw new LoginThrottledException(Math.max(1, retryAfterMillis / 1000));
+        }
+    }
+
+    // Takes back an attempt that never got to check the password, or whose password was right. Only this
+    // attempt is subtracted: other attempts counted on the same stripes may still be in progress
+    public void release(String email, String address) {
+        release(email, address, currentWindow());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("throttledCount", throttled.sum());
+        result.put("windowSeconds", window.toSeconds());
+        result.put("maxFailuresPerEmail", maxFailuresPerEmail);
+        result.put("maxFailuresPerAddress", maxFailuresPerAddress);
+        return result;
+    }
+
+    private long currentWindow() {
+        return System.currentTimeMillis() / window.toMillis();
+    }
+
+    private void release(String email, String address, long windowNumber) {
+        add(emailFailures, emailKey(email), windowNumber, -1);
+        add(addressFailures, address, windowNumber, -1);
+    }
+
+    // Adds delta to the key's count in this window, clamped to the 32-bit count field; returns the new count
+    private static long add(AtomicLongArray failures, String key, long windowNumber, int delta) {
+        int index = stripe(key);
+        long windowBits = (windowNumber & 0xFFFFFFFFL) << 32;
+        long current;
+        long count;
+        do {
+            current = failures.get(index);
+            count = (current & 0xFFFFFFFF00000000L) == windowBits ? current & 0xFFFFFFFFL : 0;
+            count = Math.max(0, Math.min(count + delta, 0xFFFFFFFFL));
+        } while (!failures.compareAndSet(index, current, windowBits | count));
+        return count;
+    }
+
+    private static int stripe(String key) {
+        long hash = SEED;
+        if (key != null) {
+            for (int i = 0; i < key.length(); i++) {
+                hash = (hash ^ key.charAt(i)) * 0x9e3779b97f4a7c15L;
+                hash ^= hash >>> 29;
+            }
+        }
+        // MurmurHash3 finalizer
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53a87cdL;
+        hash ^= hash >>> 33;
+        return (int) hash & (STRIPES - 1);
+    }
+
+    private static String emailKey(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+    }
+}
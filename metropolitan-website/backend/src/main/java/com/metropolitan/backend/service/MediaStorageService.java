@@ -0,0 +1,195 @@
+package com.metropolitan.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+@Service
+public class MediaStorageService {
+
+    public static final String MEDIA_PATH_PREFIX = "/api/media/";
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    private static final String SVG = "image/svg+xml";
+    private static final int SNIFF_BYTES = 1024;
+
+    @Value("${media.storage-dir:media}")
+    private String storageDir;
+
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(storageDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Replaces an inline data URL with a reference to the stored bytes.
+     * Anything that is not a data URL (external links, existing references) is returned unchanged.
+     */
+    public String externalize(String image) {
+        if (!isDataUrl(image)) {
+            return image;
+        }
+        return MEDIA_PATH_PREFIX + store(decodeDataUrl(image));
+    }
+
+    /**
+     * Like {@link #externalize(String)}, but passes the hash to {@code created} when this call wrote a new
+     * blob, so a caller whose rows are not saved in the end can remove what it added.
+     */
+    public String externalize(String image, Consumer<String> created) {
+        if (!isDataUrl(image)) {
+            return image;
+        }
+        byte[] bytes = decodeDataUrl(image);
+        String hash = sha256(bytes);
+        if (write(hash, bytes)) {
+            created.accept(hash);
+        }
+        return MEDIA_PATH_PREFIX + hash;
+    }
+
+    public static boolean isDataUrl(String value) {
+        return value != null && value.startsWith("data:");
+    }
+
+    public String store(byte[] bytes) {
+        String hash = sha256(bytes);
+        write(hash, bytes);
+        return hash;
+    }
+
+    public void delete(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolve(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete media " + hash, e);
+        }
+    }
+
+    // Returns whether the blob was written by this call rather than already stored
+    private boolean write(String hash, byte[] bytes) {
+        Path target = resolve(hash);
+        if (Files.exists(target)) {
+            return false;
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            // Write to a temp file first so readers never observe a partially written blob
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store media " + hash, e);
+        }
+        return true;
+    }
+
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = resolve(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public String detectContentType(Path path) throws IOException {
+        byte[] header = new byte[SNIFF_BYTES];
+        int read;
+        try (InputStream in = Files.newInputStream(path)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        return detectContentType(header, read);
+    }
+
+    /**
+     * Whether browsers may render the type inline from the API origin. Only raster images qualify; SVG can
+     * carry script, so it (and anything unrecognised) is sent as a download in a sandbox.
+     */
+    public static boolean isSafeInline(String contentType) {
+        return contentType.startsWith("image/") && !contentType.equals(SVG);
+    }
+
+    private Path resolve(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static byte[] decodeDataUrl(String dataUrl) {
+        int comma = dataUrl.indexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("Malformed data URL");
+        }
+        String metadata = dataUrl.substring(5, comma);
+        String payload = dataUrl.substring(comma + 1);
+        if (metadata.endsWith(";base64")) {
+            return Base64.getMimeDecoder().decode(payload);
+        }
+        return URLDecoder.decode(payload, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String detectContentType(byte[] h, int length) {
+        if (length >= 8 && (h[0] & 0xFF) == 0x89 && h[1] == 'P' && h[2] == 'N' && h[3] == 'G') {
+            return "image/png";
+        }
+        if (length >= 3 && (h[0] & 0xFF) == 0xFF && (h[1] & 0xFF) == 0xD8 && (h[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 6 && h[0] == 'G' && h[1] == 'I' && h[2] == 'F' && h[3] == '8') {
+            return "image/gif";
+        }
+        if (length >= 12 && h[0] == 'R' && h[1] == 'I' && h[2] == 'F' && h[3] == 'F'
+                && h[8] == 'W' && h[9] == 'E' && h[10] == 'B' && h[11] == 'P') {
+            return "image/webp";
+        }
+        if (looksLikeSvg(h, length)) {
+            return SVG;
+        }
+        return "application/octet-stream";
+    }
+
+    // Markup starting with an XML declaration, comment or <svg; an <svg> root must appear in the sniffed bytes
+    private static boolean looksLikeSvg(byte[] h, int length) {
+        String head = new String(h, 0, length, StandardCharsets.UTF_8).replace("\uFEFF", "").stripLeading();
+        return head.startsWith("<") && head.contains("<svg");
+    }
+}
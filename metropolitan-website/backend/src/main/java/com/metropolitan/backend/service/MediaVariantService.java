@@ -0,0 +1,311 @@
+package com.metropolitan.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Produces down-scaled variants of stored media. Variants live on disk under a size-bounded LRU
+ * whose index is kept in memory; resize work runs on a small dedicated pool so bursts queue here
+ * instead of occupying request threads.
+ */
+@Service
+@RequiredArgsConstructor
+public class MediaVariantService {
+
+    public static final int MIN_WIDTH = 16;
+    public static final int MAX_WIDTH = 2048;
+    public static final int DEFAULT_QUALITY = 80;
+
+    private final MediaStorageService mediaStorageService;
+
+    @Value("${media.variants.max-bytes:268435456}")
+    private long maxBytes;
+
+    @Value("${media.variants.resize-threads:2}")
+    private int resizeThreads;
+
+    @Value("${media.variants.resize-queue:32}")
+    private int resizeQueue;
+
+    // Decoding needs about 4 bytes per source pixel however small the file is, so larger sources are refused
+    @Value("${media.variants.max-source-pixels:25000000}")
+    private long maxSourcePixels;
+
+    private Path variantRoot;
+    private ThreadPoolExecutor resizeExecutor;
+
+    // Access-ordered index of variant file name -> size in bytes
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private long totalBytes;
+
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    // Source hash -> decoded width, or -1 if ImageIO cannot read it; avoids decoding originals that are
+    // served as-is on every request
+    private final Cache<String, Integer> sourceWidths = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    @PostConstruct
+    void init() throws IOException {
+        variantRoot = mediaStorageService.getRoot().resolve("variants");
+        Files.createDirectories(variantRoot);
+        rebuildIndex();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        resizeExecutor = new ThreadPoolExecutor(
+                resizeThreads,
+                resizeThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(resizeQueue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-resize-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        resizeExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the variant file, resizing it if needed. Concurrent calls for the same variant share
+     * a single resize. Fails with {@link java.util.concurrent.RejectedExecutionException} when the
+     * resize queue is full, and with {@link ImageTooLargeException} when the source has more than
+     * {@code media.variants.max-source-pixels} pixels.
+     */
+    public CompletableFuture<Path> getVariant(String hash, Path source, int width, int quality) {
+        Integer sourceWidth = sourceWidths.getIfPresent(hash);
+        if (sourceWidth != null && sourceWidth <= width) {
+            return CompletableFuture.completedFuture(source);
+        }
+
+        String key = variantKey(hash, width, quality);
+        Path target = variantRoot.resolve(key);
+
+        if (touch(key) && Files.isRegularFile(target)) {
+            return CompletableFuture.completedFuture(target);
+        }
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            resizeExecutor.execute(() -> {
+                try {
+                    created.complete(resize(hash, source, target, width, quality));
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, created);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    public static String variantKey(String hash, int width, int quality) {
+        return hash + "-w" + width + "-q" + quality;
+    }
+
+    private Path resize(String hash, Path source, Path target, int width, int quality) throws IOException {
+        BufferedImage original = decode(source);
+        sourceWidths.put(hash, original != null ? original.getWidth() : -1);
+        if (original == null || original.getWidth() <= width) {
+            // Unsupported format or already small enough: the original is the best variant
+            return source;
+        }
+
+        boolean keepAlpha = original.getColorModel().hasAlpha();
+        BufferedImage scaled = scale(original, width, keepAlpha);
+
+        Path temp = Files.createTempFile(variantRoot, target.getFileName().toString(), ".tmp");
+        try {
+            if (keepAlpha) {
+                ImageIO.write(scaled, "png", temp.toFile());
+            } else {
+                writeJpeg(scaled, temp, quality);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        record(target.getFileName().toString(), Files.size(target));
+        return target;
+    }
+
+    /**
+     * Like {@link ImageIO#read}, but reads the dimensions from the header first and refuses sources above
+     * the pixel limit before any pixel data is decoded. Returns null for formats ImageIO cannot read.
+     */
+    private BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxSourcePixels) {
+                    throw new ImageTooLargeException(reader.getWidth(0), reader.getHeight(0), maxSourcePixels);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int targetWidth, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        // Halve in steps so bilinear filtering doesn't skip source pixels on large reductions
+        do {
+            int nextWidth = Math.max(targetWidth, currentWidth / 2);
+            int nextHeight = Math.max(1, (int) Math.round((double) currentHeight * nextWidth / currentWidth));
+
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > targetWidth);
+
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target, int quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality / 100f);
+
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private boolean touch(String key) {
+        indexLock.lock();
+        try {
+            return index.get(key) != null;
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private void record(String key, long size) {
+        List<String> evicted = new ArrayList<>();
+        indexLock.lock();
+        try {
+            Long previous = index.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        } finally {
+            indexLock.unlock();
+        }
+
+        for (String name : evicted) {
+            try {
+                Files.deleteIfExists(variantRoot.resolve(name));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to evict media variant " + name, e);
+            }
+        }
+    }
+
+    private void rebuildIndex() throws IOException {
+        try (Stream<Path> files = Files.list(variantRoot)) {
+            files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparingLong(MediaVariantService::lastModified))
+                    .forEach(path -> {
+                        long size = path.toFile().length();
+                        index.put(path.getFileName().toString(), size);
+                        totalBytes += size;
+                    });
+        }
+    }
+
+    private static long lastModified(Path path) {
+        return path.toFile().lastModified();
+    }
+}
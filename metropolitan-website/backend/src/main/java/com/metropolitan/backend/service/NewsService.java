@@ -1,55 +1,151 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.dto.ContentVersion;
+import com.metropolitan.backend.dto.NewsSummary;
+import com.metropolitan.backend.dto.PageCursor;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.News;
+import com.metropolitan.backend.repository.ListQuery;
+import com.metropolitan.backend.repository.ListQueryExecutor;
+import com.metropolitan.backend.repository.ListSort;
 import com.metropolitan.backend.repository.NewsRepository;
+import com.metropolitan.backend.repository.SortField;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class NewsService {
 
+    private static final ListSort DEFAULT_SORT = ListSort.descending(SortField.DATE);
+    private static final Set<SortField> SORT_FIELDS = EnumSet.of(SortField.DATE, SortField.CREATED_AT);
+
     private final NewsRepository newsRepository;
+    private final ListQueryExecutor listQueryExecutor;
+    private final PageTotalResolver pageTotalResolver;
+    private final MediaStorageService mediaStorageService;
+    private final ContentCache contentCache;
+    private final StatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PageResponse<NewsSummary> getNews(int page, int limit) {
+        return contentCache.get(
+                ContentCache.Key.of(ContentCache.Region.NEWS, null, page, limit),
+                () -> loadNews(page, limit)
+        );
+    }
 
-    public PageResponse<News> getNews(int page, int limit) {
+    private PageResponse<NewsSummary> loadNews(int page, int limit) {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "date"));
 
-        Page<News> newsPage = newsRepository.findAll(pageable);
-        long total = newsRepository.count();
+        Page<NewsSummary> newsPage = newsRepository.findSummaries(pageable);
 
-        return PageResponse.of(newsPage.getContent(), total, page, limit);
+        return PageResponse.of(newsPage);
     }
 
     public PageResponse<News> getNewsWithFilters(
             LocalDateTime fromDate,
             LocalDateTime toDate,
+            String sort,
+            TotalMode totalMode,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "date"));
-
-        Page<News> newsPage = newsRepository.findWithFilters(fromDate, toDate, pageable);
-        long total = newsRepository.countWithFilters(fromDate, toDate);
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .createdBetween(fromDate, toDate);
+
+        Slice<News> newsPage = listQueryExecutor.findSlice(News.class, query, page, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(News.class, query),
+                "news",
+                query
+        );
+
+        return PageResponse.of(newsPage, total, totalMode == TotalMode.ESTIMATE);
+    }
 
-        return PageResponse.of(newsPage.getContent(), total, page, limit);
+    public PageResponse<News> getNewsAfterCursor(
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            String sort,
+            String cursor,
+            TotalMode totalMode,
+            int limit
+    ) {
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .createdBetween(fromDate, toDate)
+                .after(PageCursor.decode(cursor));
+
+        List<News> rows = listQueryExecutor.findAfter(News.class, query, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(News.class, query),
+                "news",
+                query
+        );
+
+        return PageResponse.ofCursor(
+                rows,
+                total,
+                totalMode == TotalMode.ESTIMATE,
+                limit,
+                n -> query.cursorAt(
+                        query.getSort().getField() == SortField.DATE ? n.getDate().atStartOfDay() : n.getCreatedAt(),
+                        n.getId()
+                )
+        );
     }
 
     public Optional<News> getNewsItem(Long id) {
         return newsRepository.findById(id);
     }
 
+    public Optional<ContentVersion> getNewsItemVersion(Long id) {
+        return newsRepository.findVersionById(id);
+    }
+
+    public ContentVersion getNewsVersion() {
+        return newsRepository.findCollectionVersion();
+    }
+
+    @Transactional
     public News createNews(News news) {
-        return newsRepository.save(news);
+        news.setImage(mediaStorageService.externalize(news.getImage()));
+        News saved = newsRepository.save(news);
+        statsService.recordCreated(StatsService.Counter.NEWS, null, saved.getCreatedAt());
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.NEWS));
+        return saved;
+    }
+
+    /**
+     * Inserts the news items in JDBC batches.
+     */
+    @Transactional
+    public List<News> createNewsItems(List<News> newsItems) {
+        newsItems.forEach(news -> news.setImage(mediaStorageService.externalize(news.getImage())));
+        List<News> saved = newsRepository.saveAll(newsItems);
+        statsService.recordCreated(StatsService.Counter.NEWS, Collections.singletonMap(null, (long) saved.size()));
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.NEWS));
+        return saved;
     }
 
+    @Transactional
     public News updateNews(Long id, News newsDetails) {
         News news = newsRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("News not found with id: " + id));
@@ -57,16 +153,22 @@ public class NewsService {
         news.setTitle(newsDetails.getTitle());
         news.setContent(newsDetails.getContent());
         news.setSummary(newsDetails.getSummary());
-        news.setImage(newsDetails.getImage());
-        news.setDate(newsDetails.getDate());
+        news.setImage(mediaStorageService.externalize(newsDetails.getImage()));
+        if (newsDetails.getDate() != null) {
+            news.setDate(newsDetails.getDate());
+        }
 
-        return newsRepository.save(news);
+        News saved = newsRepository.save(news);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.NEWS));
+        return saved;
     }
 
+    @Transactional
     public void deleteNews(Long id) {
-        if (!newsRepository.existsById(id)) {
-            throw new RuntimeException("News not found with id: " + id);
-        }
-        newsRepository.deleteById(id);
+        News news = newsRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("News not found with id: " + id));
+        newsRepository.delete(news);
+        statsService.recordDeleted(StatsService.Counter.NEWS, null, news.getCreatedAt());
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.NEWS));
     }
 }
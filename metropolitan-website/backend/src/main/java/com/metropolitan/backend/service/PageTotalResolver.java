@@ -0,0 +1,85 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.dto.TotalMode;
+import com.metropolitan.backend.repository.ListQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolves the total for a list request according to its {@link TotalMode}.
+ * Estimates come from PostgreSQL statistics: {@code pg_class.reltuples} for unfiltered tables and
+ * the planner's row estimate ({@code EXPLAIN}) when filters are present.
+ */
+@Component
+@RequiredArgsConstructor
+public class PageTotalResolver {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public Long resolve(
+            TotalMode mode,
+            LongSupplier exactCount,
+            String table,
+            ListQuery query
+    ) {
+        switch (mode) {
+            case NONE:
+                return null;
+            case ESTIMATE:
+                Long estimate = estimate(table, query.getDivision(), query.getFromDate(), query.getToDate());
+                return estimate != null ? estimate : exactCount.getAsLong();
+            default:
+                return exactCount.getAsLong();
+        }
+    }
+
+    private Long estimate(String table, String division, LocalDateTime fromDate, LocalDateTime toDate) {
+        List<String> predicates = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (division != null) {
+            predicates.add("division = ?");
+            args.add(division);
+        }
+        if (fromDate != null) {
+            predicates.add("created_at >= ?");
+            args.add(fromDate);
+        }
+        if (toDate != null) {
+            predicates.add("created_at <= ?");
+            args.add(toDate);
+        }
+
+        try {
+            if (predicates.isEmpty()) {
+                Long reltuples = jdbcTemplate.queryForObject(
+                        "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)",
+                        Long.class,
+                        table
+                );
+                // reltuples is -1 (or 0 on older servers) until the table has been analyzed
+                return reltuples != null && reltuples > 0 ? reltuples : null;
+            }
+
+            String plan = jdbcTemplate.queryForObject(
+                    "EXPLAIN (FORMAT JSON) SELECT 1 FROM " + table + " WHERE " + String.join(" AND ", predicates),
+                    String.class,
+                    args.toArray()
+            );
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isMissingNode() ? null : Math.round(rows.asDouble());
+        } catch (DataAccessException | JsonProcessingException e) {
+            return null;
+        }
+    }
+}
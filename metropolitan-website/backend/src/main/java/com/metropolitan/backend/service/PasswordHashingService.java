@@ -0,0 +1,137 @@
+package com.metropolitan.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small CPU-sized pool so a burst of logins queues here instead of occupying
+ * request threads. When the queue is full, calls fail immediately with
+ * {@link java.util.concurrent.RejectedExecutionException}.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queue:32}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    // Compared against when the email is unknown, so both outcomes take one BCrypt check
+    private String dummyHash;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        dummyHash = passwordEncoder.encode("dummy-password-for-unknown-accounts");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks {@code rawPassword} against {@code encodedPassword}, or against a dummy hash when it is
+     * {@code null} (always {@code false}, but just as slow).
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return submit(() -> {
+                passwordEncoder.matches(rawPassword, dummyHash);
+                return false;
+            });
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public Map<String, Object> stats() {
+        long count = completed.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", executor.getMaximumPoolSize());
+        result.put("active", executor.getActiveCount());
+        result.put("queueDepth", executor.getQueue().size());
+        result.put("queueCapacity", queueCapacity);
+        result.put("completedCount", count);
+        result.put("rejectedCount", rejected.sum());
+        result.put("averageQueueWaitMillis", count == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / count);
+        result.put("maxQueueWaitMillis", maxQueueWaitNanos.get() / 1_000_000.0);
+        result.put("averageHashMillis", count == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / count);
+        result.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        return result;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    record(startedAt - queuedAt, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RuntimeException e) {
+            rejected.increment();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void record(long waitNanos, long elapsedNanos) {
+        completed.increment();
+        queueWaitNanos.add(waitNanos);
+        hashNanos.add(elapsedNanos);
+        maxQueueWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        maxHashNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+}
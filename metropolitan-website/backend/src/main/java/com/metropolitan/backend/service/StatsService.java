@@ -0,0 +1,302 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.dto.AdminStats;
+import com.metropolitan.backend.dto.DailyCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the dashboard rollups: entity and division totals in {@code stats_totals}, and
+ * submissions over time through {@link SubmissionAnalyticsService}. Write paths apply +1/-1 upserts
+ * as they go; {@link #reconcile()} rebuilds both from the base tables to correct any drift
+ * (seeding, failed increments, manual SQL).
+ */
+@Service
+@RequiredArgsConstructor
+public class StatsService {
+
+    public enum Counter {
+        CASE_STUDIES("caseStudies", "case_studies", true, false),
+        NEWS("news", "news", false, false),
+        TESTIMONIALS("testimonials", "testimonials", true, false),
+        INQUIRIES("inquiries", "inquiries", true, true),
+        JOB_APPLICATIONS("jobApplications", "job_applications", false, true);
+
+        private final String key;
+        private final String table;
+        private final boolean byDivision;
+        private final boolean timeBucketed;
+
+        Counter(String key, String table, boolean byDivision, boolean timeBucketed) {
+            this.key = key;
+            this.table = table;
+            this.byDivision = byDivision;
+            this.timeBucketed = timeBucketed;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public boolean isByDivision() {
+            return byDivision;
+        }
+
+        // Submissions are also counted per hour/day/week in submission_buckets
+        public boolean isTimeBucketed() {
+            return timeBucketed;
+        }
+    }
+
+    private static final String ALL_DIVISIONS = "";
+
+    private static final String UPSERT_TOTAL = "INSERT INTO stats_totals (entity, division, total) VALUES (?, ?, ?) " +
+            "ON CONFLICT (entity, division) DO UPDATE SET total = stats_totals.total + EXCLUDED.total";
+
+    private static final String REPLACE_TOTAL =
+            " ON CONFLICT (entity, division) DO UPDATE SET total = EXCLUDED.total";
+
+    // pg_advisory_xact_lock key for reconcile(); any constant unique within this database
+    private static final long RECONCILE_LOCK = 0x5374617473L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SubmissionAnalyticsService submissionAnalyticsService;
+
+    @Transactional
+    public void recordCreated(Counter counter, String division, LocalDateTime createdAt) {
+        apply(counter, division, createdAt, 1);
+    }
+
+    /**
+     * Adds bulk-inserted rows, given as a count per division (a {@code null} key for rows without one).
+     * Only for counters that are not time-bucketed.
+     */
+    @Transactional
+    public void recordCreated(Counter counter, Map<String, Long> countsByDivision) {
+        if (counter.timeBucketed) {
+            throw new IllegalArgumentException(counter + " is time-bucketed and needs per-row creation times");
+        }
+        applyTotals(counter, countsByDivision, 1);
+    }
+
+    @Transactional
+    public void recordDeleted(Counter counter, String division, LocalDateTime createdAt) {
+        apply(counter, division, createdAt, -1);
+    }
+
+    @Transactional
+    public void recordDivisionChanged(Counter counter, String previousDivision, String division) {
+        if (!counter.byDivision || equalsDivision(previousDivision, division)) {
+            return;
+        }
+        if (hasDivision(previousDivision)) {
+            jdbcTemplate.update(UPSERT_TOTAL, counter.name(), previousDivision, -1);
+        }
+        if (hasDivision(division)) {
+            jdbcTemplate.update(UPSERT_TOTAL, counter.name(), division, 1);
+        }
+    }
+
+    /**
+     * Removes bulk-deleted rows, given as row counts per division and creation hour ({@code null} keys
+     * for rows without a division or creation time).
+     */
+    @Transactional
+    public void recordDeleted(Counter counter, Map<String, Map<LocalDateTime, Long>> hourlyCountsByDivision) {
+        applyTotals(counter, sumByDivision(hourlyCountsByDivision), -1);
+        if (counter.timeBucketed) {
+            submissionAnalyticsService.recordAll(counter, hourlyCountsByDivision, -1);
+        }
+    }
+
+    /**
+     * Moves bulk-updated rows, given as row counts per previous division and creation hour, to {@code division}.
+     */
+    @Transactional
+    public void recordDivisionChanged(
+            Counter counter,
+            Map<String, Map<LocalDateTime, Long>> hourlyCountsByPreviousDivision,
+            String division
+    ) {
+        if (!counter.byDivision) {
+            return;
+        }
+        Map<String, Long> previous = sumByDivision(hourlyCountsByPreviousDivision);
+        long moved = previous.values().stream().mapToLong(Long::longValue).sum();
+        previous.forEach((previousDivision, count) -> {
+            if (hasDivision(previousDivision)) {
+                jdbcTemplate.update(UPSERT_TOTAL, counter.name(), previousDivision, -count);
+            }
+        });
+        if (hasDivision(division) && moved > 0) {
+            jdbcTemplate.update(UPSERT_TOTAL, counter.name(), division, moved);
+        }
+
+        if (counter.timeBucketed) {
+            Map<LocalDateTime, Long> hours = new HashMap<>();
+            hourlyCountsByPreviousDivision.values()
+                    .forEach(counts -> counts.forEach((hour, count) -> hours.merge(hour, count, Long::sum)));
+            Map<String, Map<LocalDateTime, Long>> target = new HashMap<>();
+            target.put(division, hours);
+            submissionAnalyticsService.recordAll(counter, hourlyCountsByPreviousDivision, -1);
+            submissionAnalyticsService.recordAll(counter, target, 1);
+        }
+    }
+
+    /**
+     * Reads every total and the last {@code days} days of submissions in a single query.
+     */
+    public AdminStats getStats(int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(days - 1L);
+
+        Map<Counter, Long> totals = new EnumMap<>(Counter.class);
+        Map<Counter, Map<String, Long>> divisions = new EnumMap<>(Counter.class);
+        Map<Counter, Map<LocalDate, Long>> daily = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            totals.put(counter, 0L);
+            if (counter.byDivision) {
+                divisions.put(counter, new LinkedHashMap<>());
+            }
+            if (counter.timeBucketed) {
+                daily.put(counter, new LinkedHashMap<>());
+            }
+        }
+
+        jdbcTemplate.query(
+                "SELECT entity, division, NULL::date AS day, total FROM stats_totals " +
+                        "UNION ALL " +
+                        "SELECT entity, NULL, bucket_start::date, SUM(total)::bigint FROM submission_buckets " +
+                        "WHERE granularity = 'DAY' AND bucket_start >= ? GROUP BY entity, bucket_start " +
+                        "ORDER BY entity, division, day",
+                rs -> {
+                    Counter counter;
+                    try {
+                        counter = Counter.valueOf(rs.getString("entity"));
+                    } catch (IllegalArgumentException e) {
+                        return;
+                    }
+                    long total = rs.getLong("total");
+                    Date day = rs.getDate("day");
+                    String division = rs.getString("division");
+                    if (day != null) {
+                        daily.get(counter).put(day.toLocalDate(), total);
+                    } else if (ALL_DIVISIONS.equals(division)) {
+                        totals.put(counter, total);
+                    } else if (counter.byDivision) {
+                        divisions.get(counter).put(division, total);
+                    }
+                },
+                from.atStartOfDay()
+        );
+
+        Map<String, Long> totalsByKey = new LinkedHashMap<>();
+        totals.forEach((counter, total) -> totalsByKey.put(counter.key, total));
+        Map<String, Map<String, Long>> divisionsByKey = new LinkedHashMap<>();
+        divisions.forEach((counter, counts) -> divisionsByKey.put(counter.key, counts));
+
+        return new AdminStats(
+                totalsByKey,
+                divisionsByKey,
+                days,
+                perDay(daily.get(Counter.INQUIRIES), from, today),
+                perDay(daily.get(Counter.JOB_APPLICATIONS), from, today)
+        );
+    }
+
+    /**
+     * Rebuilds the rollups from the base tables in one transaction, so readers never see them half empty.
+     * Every instance runs this on startup and on the same cron, so rebuilds are serialized with a
+     * transaction-scoped advisory lock; the inserts still resolve conflicts, because a write path can create
+     * a row for a new division between the delete and the insert.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats.reconcile-cron:0 15 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> { }, RECONCILE_LOCK);
+        jdbcTemplate.update("DELETE FROM stats_totals");
+        submissionAnalyticsService.reconcile();
+
+        for (Counter counter : Counter.values()) {
+            jdbcTemplate.update(
+                    "INSERT INTO stats_totals (entity, division, total) SELECT ?, '', COUNT(*) FROM " + counter.table +
+                            REPLACE_TOTAL,
+                    counter.name());
+            if (counter.byDivision) {
+                jdbcTemplate.update(
+                        "INSERT INTO stats_totals (entity, division, total) SELECT ?, division, COUNT(*) FROM " +
+                                counter.table + " WHERE division IS NOT NULL AND division <> '' GROUP BY division" +
+                                REPLACE_TOTAL,
+                        counter.name());
+            }
+        }
+    }
+
+    private void apply(Counter counter, String division, LocalDateTime createdAt, int delta) {
+        jdbcTemplate.update(UPSERT_TOTAL, counter.name(), ALL_DIVISIONS, delta);
+        if (counter.byDivision && hasDivision(division)) {
+            jdbcTemplate.update(UPSERT_TOTAL, counter.name(), division, delta);
+        }
+        if (counter.timeBucketed && createdAt != null) {
+            submissionAnalyticsService.record(counter, division, createdAt, delta);
+        }
+    }
+
+    private void applyTotals(Counter counter, Map<String, Long> countsByDivision, int sign) {
+        long total = countsByDivision.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_TOTAL, counter.name(), ALL_DIVISIONS, sign * total);
+        if (counter.byDivision) {
+            countsByDivision.forEach((division, count) -> {
+                if (hasDivision(division)) {
+                    jdbcTemplate.update(UPSERT_TOTAL, counter.name(), division, sign * count);
+                }
+            });
+        }
+    }
+
+    private static Map<String, Long> sumByDivision(Map<String, Map<LocalDateTime, Long>> hourlyCountsByDivision) {
+        Map<String, Long> counts = new HashMap<>();
+        hourlyCountsByDivision.forEach((division, hours) ->
+                counts.put(division, hours.values().stream().mapToLong(Long::longValue).sum()));
+        return counts;
+    }
+
+    private static List<DailyCount> perDay(Map<LocalDate, Long> counts, LocalDate from, LocalDate to) {
+        List<DailyCount> result = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            result.add(new DailyCount(day, counts.getOrDefault(day, 0L)));
+        }
+        return result;
+    }
+
+    private static boolean hasDivision(String division) {
+        return division != null && !division.isEmpty();
+    }
+
+    private static boolean equalsDivision(String a, String b) {
+        return (hasDivision(a) ? a : ALL_DIVISIONS).equals(hasDivision(b) ? b : ALL_DIVISIONS);
+    }
+}
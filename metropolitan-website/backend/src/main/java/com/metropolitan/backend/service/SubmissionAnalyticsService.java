@@ -0,0 +1,241 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.dto.AnalyticsSeries;
+import com.metropolitan.backend.dto.BucketCount;
+import com.metropolitan.backend.dto.Granularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps hour, day and week submission buckets ({@code submission_buckets}) and answers range
+ * queries from them. A range is split into the largest aligned buckets that fit; only the
+ * sub-hour slivers at its edges are counted from the raw table, so results match a plain COUNT.
+ */
+@Service
+@RequiredArgsConstructor
+public class SubmissionAnalyticsService {
+
+    public static final int MAX_BUCKETS = 2000;
+
+    private static final String UPSERT = "INSERT INTO submission_buckets (entity, granularity, bucket_start, division, total) " +
+            "VALUES (?, ?, ?, ?, ?), (?, ?, ?, ?, ?), (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (entity, granularity, bucket_start, division) " +
+            "DO UPDATE SET total = submission_buckets.total + EXCLUDED.total";
+
+    private static final String UPSERT_ONE = "INSERT INTO submission_buckets (entity, granularity, bucket_start, division, total) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (entity, granularity, bucket_start, division) " +
+            "DO UPDATE SET total = submission_buckets.total + EXCLUDED.total";
+
+    private record BucketKey(String division, LocalDateTime start) {
+    }
+
+    // A granularity of null marks a raw-table slice
+    private record Piece(Granularity granularity, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void record(StatsService.Counter counter, String division, LocalDateTime createdAt, int delta) {
+        String bucketDivision = counter.isByDivision() && division != null ? division : "";
+        List<Object> args = new ArrayList<>();
+        for (Granularity granularity : Granularity.values()) {
+            args.add(counter.name());
+            args.add(granularity.name());
+            args.add(granularity.truncate(createdAt));
+            args.add(bucketDivision);
+            args.add(delta);
+        }
+        jdbcTemplate.update(UPSERT, args.toArray());
+    }
+
+    /**
+     * Applies a bulk change in one JDBC batch. {@code hourlyCounts} maps division to creation hour to row
+     * count; each count is multiplied by {@code sign}.
+     */
+    @Transactional
+    public void recordAll(StatsService.Counter counter, Map<String, Map<LocalDateTime, Long>> hourlyCounts, int sign) {
+        List<Object[]> batch = new ArrayList<>();
+        for (Granularity granularity : Granularity.values()) {
+            Map<BucketKey, Long> buckets = new HashMap<>();
+            hourlyCounts.forEach((division, hours) -> {
+                String bucketDivision = counter.isByDivision() && division != null ? division : "";
+                hours.forEach((hour, count) -> {
+                    if (hour != null) {
+                        buckets.merge(new BucketKey(bucketDivision, granularity.truncate(hour)), count, Long::sum);
+                    }
+                });
+            });
+            buckets.forEach((key, count) -> batch.add(new Object[]{
+                    counter.name(), granularity.name(), key.start(), key.division(), sign * count}));
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ONE, batch);
+        }
+    }
+
+    /**
+     * Rebuilds every bucket from the base tables. Runs inside {@link StatsService#reconcile()}'s transaction.
+     */
+    @Transactional
+    public void reconcile() {
+        jdbcTemplate.update("DELETE FROM submission_buckets");
+        for (StatsService.Counter counter : StatsService.Counter.values()) {
+            if (!counter.isTimeBucketed()) {
+                continue;
+            }
+            String division = counter.isByDivision() ? "COALESCE(division, '')" : "''";
+            for (Granularity granularity : Granularity.values()) {
+                jdbcTemplate.update(
+                        "INSERT INTO submission_buckets (entity, granularity, bucket_start, division, total) " +
+                                "SELECT ?, ?, date_trunc('" + granularity.getSqlUnit() + "', created_at), " + division +
+                                ", COUNT(*) FROM " + counter.getTable() + " WHERE created_at IS NOT NULL GROUP BY 3, 4 " +
+                                "ON CONFLICT (entity, granularity, bucket_start, division) DO UPDATE SET total = EXCLUDED.total",
+                        counter.name(),
+                        granularity.name());
+            }
+        }
+    }
+
+    public AnalyticsSeries series(
+            StatsService.Counter counter,
+            Granularity granularity,
+            LocalDateTime from,
+            LocalDateTime to,
+            String division
+    ) {
+        if (!counter.isTimeBucketed()) {
+            throw new IllegalArgumentException("Analytics are not kept for " + counter.getKey());
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        String filter = division != null && !division.isEmpty() ? division : null;
+        if (filter != null && !counter.isByDivision()) {
+            throw new IllegalArgumentException("Division filter is not supported for " + counter.getKey());
+        }
+
+        // Output buckets and the pieces each one is assembled from
+        List<LocalDateTime> starts = new ArrayList<>();
+        List<List<Piece>> piecesPerBucket = new ArrayList<>();
+        Map<Granularity, LocalDateTime[]> spans = new EnumMap<>(Granularity.class);
+        for (LocalDateTime start = granularity.truncate(from); start.isBefore(to); start = granularity.next(start)) {
+            if (starts.size() == MAX_BUCKETS) {
+                throw new IllegalArgumentException("Range spans more than " + MAX_BUCKETS + " buckets");
+            }
+            LocalDateTime sliceStart = start.isBefore(from) ? from : start;
+            LocalDateTime end = granularity.next(start);
+            LocalDateTime sliceEnd = end.isAfter(to) ? to : end;
+
+            List<Piece> pieces = decompose(sliceStart, sliceEnd);
+            for (Piece piece : pieces) {
+                if (piece.granularity() != null) {
+                    spans.merge(piece.granularity(), new LocalDateTime[]{piece.start(), piece.end()},
+                            (a, b) -> new LocalDateTime[]{min(a[0], b[0]), max(a[1], b[1])});
+                }
+            }
+            starts.add(start);
+            piecesPerBucket.add(pieces);
+        }
+
+        Map<Granularity, Map<LocalDateTime, Long>> stored = new EnumMap<>(Granularity.class);
+        spans.forEach((g, span) -> stored.put(g, loadBuckets(counter, g, span[0], span[1], filter)));
+
+        List<BucketCount> buckets = new ArrayList<>(starts.size());
+        long total = 0;
+        for (int i = 0; i < starts.size(); i++) {
+            long count = 0;
+            for (Piece piece : piecesPerBucket.get(i)) {
+                count += piece.granularity() != null
+                        ? stored.get(piece.granularity()).getOrDefault(piece.start(), 0L)
+                        : countRaw(counter, piece.start(), piece.end(), filter);
+            }
+            buckets.add(new BucketCount(starts.get(i), count));
+            total += count;
+        }
+
+        return new AnalyticsSeries(granularity, from, to, filter, total, buckets);
+    }
+
+    /**
+     * Greedily covers [start, end) with the largest aligned buckets that fit, falling back to raw
+     * slices up to the next hour boundary where no bucket does.
+     */
+    private static List<Piece> decompose(LocalDateTime start, LocalDateTime end) {
+        List<Piece> pieces = new ArrayList<>();
+        Granularity[] largestFirst = {Granularity.WEEK, Granularity.DAY, Granularity.HOUR};
+        LocalDateTime cursor = start;
+
+        while (cursor.isBefore(end)) {
+            Piece piece = null;
+            for (Granularity granularity : largestFirst) {
+                LocalDateTime next = granularity.next(cursor);
+                if (granularity.isAligned(cursor) && !next.isAfter(end)) {
+                    piece = new Piece(granularity, cursor, next);
+                    break;
+                }
+            }
+            if (piece == null) {
+                LocalDateTime hourEnd = Granularity.HOUR.next(Granularity.HOUR.truncate(cursor));
+                piece = new Piece(null, cursor, hourEnd.isAfter(end) ? end : hourEnd);
+            }
+            pieces.add(piece);
+            cursor = piece.end();
+        }
+        return pieces;
+    }
+
+    private Map<LocalDateTime, Long> loadBuckets(
+            StatsService.Counter counter,
+            Granularity granularity,
+            LocalDateTime from,
+            LocalDateTime to,
+            String division
+    ) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT bucket_start, SUM(total) AS total FROM submission_buckets " +
+                        "WHERE entity = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ?");
+        List<Object> args = new ArrayList<>(List.of(counter.name(), granularity.name(), from, to));
+        if (division != null) {
+            sql.append(" AND division = ?");
+            args.add(division);
+        }
+        sql.append(" GROUP BY bucket_start");
+
+        Map<LocalDateTime, Long> counts = new HashMap<>();
+        jdbcTemplate.query(sql.toString(),
+                rs -> {
+                    counts.put(rs.getObject("bucket_start", LocalDateTime.class), rs.getLong("total"));
+                },
+                args.toArray());
+        return counts;
+    }
+
+    private long countRaw(StatsService.Counter counter, LocalDateTime from, LocalDateTime to, String division) {
+        String sql = "SELECT COUNT(*) FROM " + counter.getTable() + " WHERE created_at >= ? AND created_at < ?";
+        if (division != null) {
+            Long count = jdbcTemplate.queryForObject(sql + " AND division = ?", Long.class, from, to, division);
+            return count != null ? count : 0;
+        }
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, from, to);
+        return count != null ? count : 0;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,573 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.model.Inquiry;
+import com.metropolitan.backend.model.JobApplication;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous intake for public form submissions ({@code ingestion.mode=async}).
+ * <p>
+ * A submission is appended to a local write-ahead log and fsynced before the caller gets its id, then
+ * a single background writer inserts queued submissions in multi-row batches. Concurrent submissions
+ * share fsyncs: whoever syncs covers every line appended before it. Log segments are deleted once every
+ * entry in them is committed; whatever is left on startup is replayed, and the {@code submission_id}
+ * unique index turns already-inserted entries into no-ops. Replay also runs in {@code sync} mode, so
+ * switching modes cannot strand submissions that were acknowledged but not yet inserted; the writer then
+ * stops once they are in. A batch the database rejects is retried row
+ * by row, and rows it still rejects are moved to {@code dead-letter.log} so they cannot hold up the rest.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubmissionIngestionService {
+
+    public enum Kind {
+        INQUIRY,
+        JOB_APPLICATION
+    }
+
+    /**
+     * One line of the write-ahead log; exactly one of {@code inquiry} and {@code jobApplication} is set.
+     */
+    public record WalEntry(
+            Kind kind,
+            UUID submissionId,
+            LocalDateTime createdAt,
+            Inquiry inquiry,
+            JobApplication jobApplication
+    ) {
+    }
+
+    private record Pending(WalEntry entry, Segment segment) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final AtomicLong unflushed = new AtomicLong();
+        private volatile boolean closed;
+
+        private Segment(Path path) {
+            this.path = path;
+        }
+    }
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+    private static final long MAX_RETRY_DELAY_MILLIS = 30000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatsService statsService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ingestion.mode:sync}")
+    private String mode;
+
+    @Value("${ingestion.wal-dir:ingestion-wal}")
+    private String walDir;
+
+    @Value("${ingestion.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ingestion.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${ingestion.segment-bytes:16777216}")
+    private long segmentBytes;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock walLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private Path walRoot;
+    private FileChannel walChannel;
+    private Segment currentSegment;
+    private long nextSegmentNumber;
+
+    // Lines appended so far (guarded by walLock) and lines known to be on disk (guarded by syncLock)
+    private long appendedLines;
+    private long syncedLines;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder walSyncs = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile int lastBatchSize;
+
+    public boolean isAsync() {
+        return "async".equalsIgnoreCase(mode);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        walRoot = Paths.get(walDir).toAbsolutePath().normalize();
+        if (isAsync()) {
+            Files.createDirectories(walRoot);
+        } else if (!Files.isDirectory(walRoot)) {
+            return;
+        }
+        replay();
+        if (isAsync()) {
+            openSegment();
+        } else if (queue.isEmpty()) {
+            return;
+        }
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "submission-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException, IOException {
+        if (writerThread == null) {
+            return;
+        }
+        // Give the writer a moment to drain; anything left is replayed on the next start
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        if (walChannel == null) {
+            return;
+        }
+        walLock.lock();
+        try {
+            walChannel.force(false);
+            walChannel.close();
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    public UUID submitInquiry(Inquiry inquiry) {
+        return submit(new WalEntry(Kind.INQUIRY, UUID.randomUUID(), LocalDateTime.now(), inquiry, null));
+    }
+
+    public UUID submitJobApplication(JobApplication jobApplication) {
+        return submit(new WalEntry(Kind.JOB_APPLICATION, UUID.randomUUID(), LocalDateTime.now(), null, jobApplication));
+    }
+
+    /**
+     * Durably records the submission and queues it for insertion. Fails with
+     * {@link RejectedExecutionException} when the backlog is over {@code ingestion.queue-capacity}.
+     */
+    private UUID submit(WalEntry entry) {
+        if (queue.size() >= queueCapacity) {
+            throw new RejectedExecutionException("Submission queue is full");
+        }
+
+        byte[] line;
+        try {
+            line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Submission could not be serialized", e);
+        }
+
+        Segment segment;
+        long position;
+        walLock.lock();
+        try {
+            if (walChannel.size() > 0 && walChannel.size() + line.length > segmentBytes) {
+                closeSegment();
+                openSegment();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                walChannel.write(buffer);
+            }
+            segment = currentSegment;
+            segment.unflushed.incrementAndGet();
+            position = ++appendedLines;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append submission to the write-ahead log", e);
+        } finally {
+            walLock.unlock();
+        }
+
+        try {
+            sync(position);
+        } catch (IOException e) {
+            // Not acknowledged, so not queued; a replay after a restart may still insert it
+            release(segment);
+            throw new UncheckedIOException("Failed to sync the write-ahead log", e);
+        }
+
+        queue.add(new Pending(entry, segment));
+        accepted.increment();
+        return entry.submissionId();
+    }
+
+    /**
+     * Returns once the line at {@code position} is on disk. Callers queue on {@link #syncLock} while one of
+     * them syncs; by the time the next one gets the lock its line is usually covered already, so a burst of
+     * submissions costs a few fsyncs instead of one each, and appends never wait for a sync.
+     */
+    private void sync(long position) throws IOException {
+        syncLock.lock();
+        try {
+            if (syncedLines >= position) {
+                return;
+            }
+            long target;
+            FileChannel channel;
+            walLock.lock();
+            try {
+                target = appendedLines;
+                channel = walChannel;
+            } finally {
+                walLock.unlock();
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // The segment was rotated (or the log shut down) after target was read, and closing it
+                // forced everything written to it first
+            }
+            walSyncs.increment();
+            syncedLines = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long flushCount = flushes.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", isAsync() ? "async" : "sync");
+        result.put("queueDepth", queue.size());
+        result.put("queueCapacity", queueCapacity);
+        result.put("acceptedCount", accepted.sum());
+        result.put("replayedCount", replayed.sum());
+        result.put("insertedCount", inserted.sum());
+        result.put("duplicateCount", duplicates.sum());
+        result.put("deadLetterCount", deadLettered.sum());
+        result.put("walSyncCount", walSyncs.sum());
+        result.put("flushCount", flushCount);
+        result.put("flushFailureCount", flushFailures.sum());
+        result.put("lastBatchSize", lastBatchSize);
+        result.put("averageFlushMillis", flushCount == 0 ? 0.0 : flushNanos.sum() / 1_000_000.0 / flushCount);
+        result.put("maxFlushMillis", maxFlushNanos.get() / 1_000_000.0);
+        return result;
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        long retryDelay = flushInterval.toMillis();
+
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    Pending first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (!isAsync()) {
+                            // In sync mode only replayed entries are queued, and they are all in
+                            log.info("Write-ahead log replay finished");
+                            return;
+                        }
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    if (!isRejected(e)) {
+                        throw e;
+                    }
+                    flushEach(batch);
+                }
+                batch.clear();
+                retryDelay = flushInterval.toMillis();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Keep the batch and retry; the entries stay in the log until they are committed
+                flushFailures.increment();
+                log.warn("Failed to flush {} submissions, retrying in {}ms", batch.size(), retryDelay, e);
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        long start = System.nanoTime();
+        List<WalEntry> inquiries = new ArrayList<>();
+        List<WalEntry> jobApplications = new ArrayList<>();
+        for (Pending pending : batch) {
+            if (pending.entry().kind() == Kind.INQUIRY) {
+                inquiries.add(pending.entry());
+            } else {
+                jobApplications.add(pending.entry());
+            }
+        }
+
+        int insertedRows = transactionTemplate.execute(status -> insertInquiries(inquiries) + insertJobApplications(jobApplications));
+
+        inserted.add(insertedRows);
+        duplicates.add(batch.size() - insertedRows);
+        for (Pending pending : batch) {
+            release(pending.segment());
+        }
+
+        long elapsed = System.nanoTime() - start;
+        flushes.increment();
+        flushNanos.add(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        lastBatchSize = batch.size();
+    }
+
+    /**
+     * Inserts a rejected batch one row at a time and dead-letters the rows the database still rejects.
+     * Rows are removed from the batch as they are settled, so when some other failure (connection lost)
+     * ends the loop, the caller's retry only covers what is left.
+     */
+    private void flushEach(List<Pending> batch) {
+        Iterator<Pending> iterator = batch.iterator();
+        while (iterator.hasNext()) {
+            Pending pending = iterator.next();
+            try {
+                flush(List.of(pending));
+            } catch (RuntimeException e) {
+                if (!isRejected(e)) {
+                    throw e;
+                }
+                deadLetter(pending, e);
+            }
+            iterator.remove();
+        }
+    }
+
+    // The database refused the data itself (constraint, bad value), so retrying the same row cannot succeed
+    private static boolean isRejected(RuntimeException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    private void deadLetter(Pending pending, RuntimeException cause) {
+        WalEntry entry = pending.entry();
+        log.error("Moving submission {} to {} after the database rejected it", entry.submissionId(), DEAD_LETTER_FILE, cause);
+        try {
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(walRoot.resolve(DEAD_LETTER_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            // Keep the entry in its segment; it is retried with the next batch
+            throw new UncheckedIOException("Failed to write submission " + entry.submissionId() + " to the dead-letter log", e);
+        }
+        deadLettered.increment();
+        release(pending.segment());
+    }
+
+    private int insertInquiries(List<WalEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO inquiries (name, email, phone, subject, message, division, created_at, submission_id) VALUES ");
+        List<Object> args = new ArrayList<>(entries.size() * 8);
+        for (int i = 0; i < entries.size(); i++) {
+            WalEntry entry = entries.get(i);
+            Inquiry inquiry = entry.inquiry();
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?)");
+            args.add(inquiry.getName());
+            args.add(inquiry.getEmail());
+            args.add(inquiry.getPhone());
+            args.add(inquiry.getSubject());
+            args.add(inquiry.getMessage());
+            args.add(inquiry.getDivision());
+            args.add(entry.createdAt());
+            args.add(entry.submissionId());
+        }
+        sql.append(" ON CONFLICT (submission_id) DO NOTHING RETURNING division, created_at");
+
+        // Only rows actually inserted (not replays of committed entries) count towards the rollups
+        List<Object[]> rows = jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new Object[]{rs.getString("division"), rs.getObject("created_at", LocalDateTime.class)},
+                args.toArray());
+        for (Object[] row : rows) {
+            statsService.recordCreated(StatsService.Counter.INQUIRIES, (String) row[0], (LocalDateTime) row[1]);
+        }
+        return rows.size();
+    }
+
+    private int insertJobApplications(List<WalEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO job_applications (name, email, position, portfolio_url, cover_letter, created_at, submission_id) VALUES ");
+        List<Object> args = new ArrayList<>(entries.size() * 7);
+        for (int i = 0; i < entries.size(); i++) {
+            WalEntry entry = entries.get(i);
+            JobApplication application = entry.jobApplication();
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?)");
+            args.add(application.getName());
+            args.add(application.getEmail());
+            args.add(application.getPosition());
+            args.add(application.getPortfolioUrl());
+            args.add(application.getCoverLetter());
+            args.add(entry.createdAt());
+            args.add(entry.submissionId());
+        }
+        sql.append(" ON CONFLICT (submission_id) DO NOTHING RETURNING created_at");
+
+        List<LocalDateTime> rows = jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> rs.getObject("created_at", LocalDateTime.class),
+                args.toArray());
+        for (LocalDateTime createdAt : rows) {
+            statsService.recordCreated(StatsService.Counter.JOB_APPLICATIONS, null, createdAt);
+        }
+        return rows.size();
+    }
+
+    /**
+     * Queues every entry left in the log by a previous run. A torn last line (crash mid-append) was
+     * never acknowledged to its caller and is skipped.
+     */
+    private void replay() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(walRoot)) {
+            files = listing.filter(path -> segmentNumber(path) >= 0)
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .toList();
+        }
+
+        for (Path file : files) {
+            nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumber(file) + 1);
+            Segment segment = new Segment(file);
+            segment.closed = true;
+
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        WalEntry entry = objectMapper.readValue(line, WalEntry.class);
+                        segment.unflushed.incrementAndGet();
+                        queue.add(new Pending(entry, segment));
+                        replayed.increment();
+                    } catch (JsonProcessingException e) {
+                        log.warn("Skipping unreadable write-ahead log entry in {}", file.getFileName(), e);
+                    }
+                }
+            }
+            if (segment.unflushed.get() == 0) {
+                deleteSegment(segment);
+            }
+        }
+
+        if (replayed.sum() > 0) {
+            log.info("Replaying {} submissions from the write-ahead log", replayed.sum());
+        }
+    }
+
+    // Called with walLock held (or before the writer starts)
+    private void openSegment() throws IOException {
+        Path path = walRoot.resolve(SEGMENT_PREFIX + nextSegmentNumber++ + SEGMENT_SUFFIX);
+        walChannel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        currentSegment = new Segment(path);
+    }
+
+    // Called with walLock held; forcing before the close is what lets sync() treat a closed channel as synced
+    private void closeSegment() throws IOException {
+        walChannel.force(false);
+        walChannel.close();
+        Segment segment = currentSegment;
+        segment.closed = true;
+        if (segment.unflushed.get() == 0) {
+            deleteSegment(segment);
+        }
+    }
+
+    private static void release(Segment segment) {
+        if (segment.unflushed.decrementAndGet() == 0 && segment.closed) {
+            deleteSegment(segment);
+        }
+    }
+
+    private static void deleteSegment(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("Failed to delete write-ahead log segment {}", segment.path, e);
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,58 +1,145 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.dto.ContentVersion;
+import com.metropolitan.backend.dto.DivisionFacets;
+import com.metropolitan.backend.dto.PageCursor;
 import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
 import com.metropolitan.backend.model.Testimonial;
+import com.metropolitan.backend.repository.ListQuery;
+import com.metropolitan.backend.repository.ListQueryExecutor;
+import com.metropolitan.backend.repository.ListSort;
+import com.metropolitan.backend.repository.SortField;
 import com.metropolitan.backend.repository.TestimonialRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TestimonialService {
 
+    private static final ListSort DEFAULT_SORT = ListSort.descending(SortField.CREATED_AT);
+    private static final Set<SortField> SORT_FIELDS = EnumSet.of(SortField.CREATED_AT);
+
     private final TestimonialRepository testimonialRepository;
+    private final ListQueryExecutor listQueryExecutor;
+    private final PageTotalResolver pageTotalResolver;
+    private final ContentCache contentCache;
+    private final StatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PageResponse<Testimonial> getTestimonials(String division, int page, int limit) {
+        return contentCache.get(
+                ContentCache.Key.of(ContentCache.Region.TESTIMONIALS, division, page, limit),
+                () -> loadTestimonials(division, page, limit)
+        );
+    }
+
+    private PageResponse<Testimonial> loadTestimonials(String division, int page, int limit) {
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
         Page<Testimonial> testimonialPage;
-        long total;
 
         if (division != null && !division.isEmpty()) {
             testimonialPage = testimonialRepository.findByDivision(division, pageable);
-            total = testimonialRepository.countByDivision(division);
         } else {
             testimonialPage = testimonialRepository.findAll(pageable);
-            total = testimonialRepository.count();
         }
 
-        return PageResponse.of(testimonialPage.getContent(), total, page, limit);
+        return PageResponse.of(testimonialPage);
     }
 
     public PageResponse<Testimonial> getTestimonialsWithFilters(
             String division,
             LocalDateTime fromDate,
             LocalDateTime toDate,
+            String sort,
+            TotalMode totalMode,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .division(division)
+                .createdBetween(fromDate, toDate);
+
+        Slice<Testimonial> testimonialPage = listQueryExecutor.findSlice(Testimonial.class, query, page, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(Testimonial.class, query),
+                "testimonials",
+                query
+        );
+
+        return PageResponse.of(testimonialPage, total, totalMode == TotalMode.ESTIMATE);
+    }
+
+    public PageResponse<Testimonial> getTestimonialsAfterCursor(
+            String division,
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            String sort,
+            String cursor,
+            TotalMode totalMode,
+            int limit
+    ) {
+        ListQuery query = new ListQuery(ListSort.parse(sort, DEFAULT_SORT, SORT_FIELDS))
+                .division(division)
+                .createdBetween(fromDate, toDate)
+                .after(PageCursor.decode(cursor));
+
+        List<Testimonial> rows = listQueryExecutor.findAfter(Testimonial.class, query, limit);
+        Long total = pageTotalResolver.resolve(
+                totalMode,
+                () -> listQueryExecutor.count(Testimonial.class, query),
+                "testimonials",
+                query
+        );
+
+        return PageResponse.ofCursor(
+                rows,
+                total,
+                totalMode == TotalMode.ESTIMATE,
+                limit,
+                t -> query.cursorAt(t.getCreatedAt(), t.getId())
+        );
+    }
 
-        Page<Testimonial> testimonialPage = testimonialRepository.findWithFilters(division, fromDate, toDate, pageable);
-        long total = testimonialRepository.countWithFilters(division, fromDate, toDate);
+    public DivisionFacets getDivisionFacets() {
+        return contentCache.get(
+                ContentCache.Key.facets(ContentCache.Region.TESTIMONIALS),
+                () -> DivisionFacets.of(testimonialRepository.countGroupedByDivision())
+        );
+    }
 
-        return PageResponse.of(testimonialPage.getContent(), total, page, limit);
+    public ContentVersion getTestimonialsVersion(String division) {
+        if (division != null && !division.isEmpty()) {
+            return testimonialRepository.findCollectionVersionByDivision(division);
+        }
+        return testimonialRepository.findCollectionVersion();
     }
 
     public List<Testimonial> getTestimonialsNonPaginated(String division) {
+        return contentCache.get(
+                ContentCache.Key.of(ContentCache.Region.TESTIMONIALS, division, 0, 0),
+                () -> loadTestimonialsNonPaginated(division)
+        );
+    }
+
+    private List<Testimonial> loadTestimonialsNonPaginated(String division) {
         if (division != null && !division.isEmpty()) {
             return testimonialRepository.findByDivision(division);
         }
@@ -63,26 +150,51 @@ public class TestimonialService {
         return testimonialRepository.findById(id);
     }
 
+    @Transactional
     public Testimonial createTestimonial(Testimonial testimonial) {
-        return testimonialRepository.save(testimonial);
+        Testimonial saved = testimonialRepository.save(testimonial);
+        statsService.recordCreated(StatsService.Counter.TESTIMONIALS, saved.getDivision(), saved.getCreatedAt());
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.TESTIMONIALS, saved.getDivision()));
+        return saved;
     }
 
+    /**
+     * Inserts the testimonials in JDBC batches and evicts each affected division once.
+     */
+    @Transactional
+    public List<Testimonial> createTestimonials(List<Testimonial> testimonials) {
+        List<Testimonial> saved = testimonialRepository.saveAll(testimonials);
+        statsService.recordCreated(StatsService.Counter.TESTIMONIALS, saved.stream()
+                .collect(Collectors.groupingBy(Testimonial::getDivision, Collectors.counting())));
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.TESTIMONIALS,
+                saved.stream().map(Testimonial::getDivision).distinct().toArray(String[]::new)));
+        return saved;
+    }
+
+    @Transactional
     public Testimonial updateTestimonial(Long id, Testimonial testimonialDetails) {
         Testimonial testimonial = testimonialRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Testimonial not found with id: " + id));
+        String previousDivision = testimonial.getDivision();
 
         testimonial.setContent(testimonialDetails.getContent());
         testimonial.setAuthor(testimonialDetails.getAuthor());
         testimonial.setRole(testimonialDetails.getRole());
         testimonial.setDivision(testimonialDetails.getDivision());
 
-        return testimonialRepository.save(testimonial);
+        Testimonial saved = testimonialRepository.save(testimonial);
+        statsService.recordDivisionChanged(StatsService.Counter.TESTIMONIALS, previousDivision, saved.getDivision());
+        eventPublisher.publishEvent(
+                new ContentChangedEvent(ContentCache.Region.TESTIMONIALS, previousDivision, saved.getDivision()));
+        return saved;
     }
 
+    @Transactional
     public void deleteTestimonial(Long id) {
-        if (!testimonialRepository.existsById(id)) {
-            throw new RuntimeException("Testimonial not found with id: " + id);
-        }
-        testimonialRepository.deleteById(id);
+        Testimonial testimonial = testimonialRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Testimonial not found with id: " + id));
+        testimonialRepository.delete(testimonial);
+        statsService.recordDeleted(StatsService.Counter.TESTIMONIALS, testimonial.getDivision(), testimonial.getCreatedAt());
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentCache.Region.TESTIMONIALS, testimonial.getDivision()));
     }
 }
@@ -0,0 +1,246 @@
+package com.metropolitan.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked token ids ({@code jti}), shared by all instances through the {@code revoked_tokens} table.
+ * Lookups go to an immutable snapshot: a bloom filter that rejects almost every id with a few bit tests,
+ * backed by an open-addressing table of the exact ids. A lookup reads one volatile field and allocates
+ * nothing. Revocations are rare, so each one rebuilds the snapshot. Ids revoked on other instances are
+ * picked up every {@code auth.revocation.sync-interval} ms, and ids are dropped once their token expires.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final int HASHES = 7;
+    private static final int BITS_PER_ENTRY = 10;
+
+    // Rows are read again for this long after they were first seen, so a slow commit is not missed
+    private static final long SYNC_OVERLAP_MILLIS = 60_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.revocation.expected-entries:10000}")
+    private int expectedEntries;
+
+    // jti -> expiry in epoch millis; guarded by lock, readers only see snapshots built from it
+    private final Map<UUID, Long> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Timestamp syncedUpTo;
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder bloomPositives = new LongAdder();
+    private final LongAdder revokedHits = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        snapshot = Snapshot.build(entries, expectedEntries);
+        sync();
+    }
+
+    /**
+     * Whether the token id, given as {@link UUID#getMostSignificantBits()} and
+     * {@link UUID#getLeastSignificantBits()}, has been revoked.
+     */
+    public boolean isRevoked(long idHigh, long idLow) {
+        checks.increment();
+        int result = snapshot.lookup(idHigh, idLow);
+        if (result != Snapshot.ABSENT) {
+            bloomPositives.increment();
+        }
+        if (result == Snapshot.PRESENT) {
+            revokedHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revokes the token id until {@code expiresAtMillis}. Returns {@code false} when some instance had already
+     * revoked it, which makes this usable as a one-time claim for refresh token rotation.
+     */
+    public boolean revoke(UUID id, long expiresAtMillis) {
+        int inserted = jdbcTemplate.update(
+                "INSERT INTO revoked_tokens (jti, expires_at) VALUES (?, ?) ON CONFLICT (jti) DO NOTHING",
+                id, new Timestamp(expiresAtMillis));
+
+        lock.lock();
+        try {
+            if (entries.put(id, expiresAtMillis) == null) {
+                snapshot = Snapshot.build(entries, expectedEntries);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return inserted == 1;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:5000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        Timestamp since = syncedUpTo != null ? new Timestamp(syncedUpTo.getTime() - SYNC_OVERLAP_MILLIS) : new Timestamp(0);
+        Map<UUID, Long> fetched = new HashMap<>();
+        Timestamp[] latest = {syncedUpTo};
+        try {
+            jdbcTemplate.query(
+                    "SELECT jti, expires_at, revoked_at FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > ?",
+                    rs -> {
+                        fetched.put(rs.getObject("jti", UUID.class), rs.getTimestamp("expires_at").getTime());
+                        Timestamp revokedAt = rs.getTimestamp("revoked_at");
+                        if (latest[0] == null || revokedAt.after(latest[0])) {
+                            latest[0] = revokedAt;
+                        }
+                    },
+                    since, new Timestamp(now));
+        } catch (DataAccessException e) {
+            // Keep the current set; the next run reads the same range again
+            log.warn("Failed to sync revoked tokens", e);
+            return;
+        }
+
+        lock.lock();
+        try {
+            syncedUpTo = latest[0];
+            boolean changed = entries.values().removeIf(expiresAt -> expiresAt <= now);
+            for (Map.Entry<UUID, Long> entry : fetched.entrySet()) {
+                changed |= entries.put(entry.getKey(), entry.getValue()) == null;
+            }
+            if (changed) {
+                snapshot = Snapshot.build(entries, expectedEntries);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rows for expired tokens are no longer needed by any instance
+    @Scheduled(fixedDelayString = "${auth.revocation.prune-interval:3600000}")
+    public void prune() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?",
+                    new Timestamp(System.currentTimeMillis()));
+            if (deleted > 0) {
+                log.info("Pruned {} expired revoked tokens", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to prune revoked tokens", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot current = snapshot;
+        long positives = bloomPositives.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", current.size);
+        result.put("bloomBits", current.bloom.length * 64L);
+        result.put("checkCount", checks.sum());
+        result.put("bloomPositiveCount", positives);
+        result.put("revokedCount", revokedHits.sum());
+        result.put("falsePositiveCount", positives - revokedHits.sum());
+        result.put("syncedUpTo", syncedUpTo);
+        return result;
+    }
+
+    private static final class Snapshot {
+
+        static final int ABSENT = 0;
+        static final int FALSE_POSITIVE = 1;
+        static final int PRESENT = 2;
+
+        final long[] bloom;
+        final long bloomMask;
+        final long[] highs;
+        final long[] lows;
+        final int tableMask;
+        final int size;
+
+        private Snapshot(int bloomBits, int tableSize, int size) {
+            this.bloom = new long[bloomBits >>> 6];
+            this.bloomMask = bloomBits - 1;
+            this.highs = new long[tableSize];
+            this.lows = new long[tableSize];
+            this.tableMask = tableSize - 1;
+            this.size = size;
+        }
+
+        static Snapshot build(Map<UUID, Long> entries, int expectedEntries) {
+            int size = entries.size();
+            int bloomBits = powerOfTwo(Math.max(64, (long) Math.max(size, expectedEntries) * BITS_PER_ENTRY));
+            Snapshot snapshot = new Snapshot(bloomBits, powerOfTwo(Math.max(2, size * 2L)), size);
+            for (UUID id : entries.keySet()) {
+                snapshot.add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            }
+            return snapshot;
+        }
+
+        private void add(long high, long low) {
+            long h1 = mix(high);
+            long h2 = mix(low) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = (h1 + i * h2) & bloomMask;
+                bloom[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            // The nil UUID marks an empty slot; generated ids are never nil
+            int slot = (int) (h1 ^ h2) & tableMask;
+            while (highs[slot] != 0 || lows[slot] != 0) {
+                slot = (slot + 1) & tableMask;
+            }
+            highs[slot] = high;
+            lows[slot] = low;
+        }
+
+        int lookup(long high, long low) {
+            long h1 = mix(high);
+            long h2 = mix(low) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = (h1 + i * h2) & bloomMask;
+                if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return ABSENT;
+                }
+            }
+            int slot = (int) (h1 ^ h2) & tableMask;
+            while (highs[slot] != 0 || lows[slot] != 0) {
+                if (highs[slot] == high && lows[slot] == low) {
+                    return PRESENT;
+                }
+                slot = (slot + 1) & tableMask;
+            }
+            return FALSE_POSITIVE;
+        }
+
+        private static int powerOfTwo(long minimum) {
+            long capped = Math.min(minimum, 1 << 30);
+            long value = Long.highestOneBit(capped);
+            return (int) (value < capped ? value << 1 : value);
+        }
+
+        // MurmurHash3 finalizer; UUID halves contain fixed version and variant bits
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb93fe53a87cdL;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- The admin lists are ordered and paged by (created_at, id) by default; a NULL created_at fell outside every
+-- keyset comparison, so such rows were skipped by cursor paging. Every writer sets it, so backfill the rare
+-- NULL and require it from now on.
+
+UPDATE case_studies SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+UPDATE news SET created_at = COALESCE(updated_at, date::timestamp) WHERE created_at IS NULL;
+UPDATE testimonials SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+UPDATE inquiries SET created_at = now() WHERE created_at IS NULL;
+UPDATE job_applications SET created_at = now() WHERE created_at IS NULL;
+
+ALTER TABLE case_studies ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE news ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE testimonials ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE inquiries ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE job_applications ALTER COLUMN created_at SET NOT NULL;
@@ -0,0 +1,64 @@
+-- Baseline schema, matching what ddl-auto=update produced before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE admin_user (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    last_login  TIMESTAMP(6),
+    is_active   BOOLEAN
+);
+
+CREATE TABLE case_studies (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title            TEXT NOT NULL,
+    description      TEXT NOT NULL,
+    image            TEXT NOT NULL,
+    division         VARCHAR(50) NOT NULL,
+    client           TEXT,
+    location         TEXT,
+    completion_date  TEXT,
+    created_at       TIMESTAMP(6)
+);
+
+CREATE TABLE news (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       TEXT NOT NULL,
+    content     TEXT NOT NULL,
+    image       TEXT NOT NULL,
+    summary     TEXT NOT NULL,
+    date        DATE,
+    created_at  TIMESTAMP(6)
+);
+
+CREATE TABLE inquiries (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        TEXT NOT NULL,
+    email       TEXT NOT NULL,
+    phone       TEXT,
+    subject     TEXT,
+    message     TEXT NOT NULL,
+    division    VARCHAR(50),
+    created_at  TIMESTAMP(6)
+);
+
+CREATE TABLE job_applications (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           TEXT NOT NULL,
+    email          TEXT NOT NULL,
+    position       TEXT NOT NULL,
+    portfolio_url  TEXT,
+    cover_letter   TEXT,
+    created_at     TIMESTAMP(6)
+);
+
+CREATE TABLE testimonials (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content     TEXT NOT NULL,
+    author      TEXT NOT NULL,
+    role        TEXT NOT NULL,
+    division    VARCHAR(50) NOT NULL,
+    created_at  TIMESTAMP(6)
+);
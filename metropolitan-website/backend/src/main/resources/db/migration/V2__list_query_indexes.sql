@@ -0,0 +1,16 @@
+-- Indexes matching the repository list queries. Each one ends in id so the
+-- (sort column, id) keyset seek and its ORDER BY are served by a single index scan.
+
+-- Public lists filtered by division, newest first
+CREATE INDEX idx_case_studies_division_created_at ON case_studies (division, created_at DESC, id DESC);
+CREATE INDEX idx_testimonials_division_created_at ON testimonials (division, created_at DESC, id DESC);
+
+-- Unfiltered lists and createdAt range filters
+CREATE INDEX idx_case_studies_created_at ON case_studies (created_at DESC, id DESC);
+CREATE INDEX idx_testimonials_created_at ON testimonials (created_at DESC, id DESC);
+CREATE INDEX idx_news_created_at ON news (created_at DESC, id DESC);
+CREATE INDEX idx_inquiries_created_at ON inquiries (created_at DESC, id DESC);
+CREATE INDEX idx_job_applications_created_at ON job_applications (created_at DESC, id DESC);
+
+-- News is listed by publication date
+CREATE INDEX idx_news_date ON news (date DESC, id DESC);
@@ -0,0 +1,21 @@
+-- Validators for HTTP conditional requests on public content: an update timestamp and an
+-- optimistic-lock version per row. Existing rows start at their creation time.
+
+ALTER TABLE news ADD COLUMN updated_at TIMESTAMP(6);
+ALTER TABLE news ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+UPDATE news SET updated_at = COALESCE(created_at, now());
+
+ALTER TABLE case_studies ADD COLUMN updated_at TIMESTAMP(6);
+ALTER TABLE case_studies ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+UPDATE case_studies SET updated_at = COALESCE(created_at, now());
+
+ALTER TABLE testimonials ADD COLUMN updated_at TIMESTAMP(6);
+ALTER TABLE testimonials ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+UPDATE testimonials SET updated_at = COALESCE(created_at, now());
+
+-- List revalidation reads COUNT and MAX(updated_at) per filter from these alone
+CREATE INDEX idx_news_updated_at ON news (updated_at);
+CREATE INDEX idx_case_studies_updated_at ON case_studies (updated_at);
+CREATE INDEX idx_testimonials_updated_at ON testimonials (updated_at);
+CREATE INDEX idx_case_studies_division_updated_at ON case_studies (division, updated_at);
+CREATE INDEX idx_testimonials_division_updated_at ON testimonials (division, updated_at);
@@ -0,0 +1,18 @@
+-- Rollups behind GET /api/admin/stats. Kept current by the write paths and rebuilt from the base
+-- tables by StatsService.reconcile() on startup and on a schedule.
+
+-- division = '' holds the entity total; other rows are per-division counts
+CREATE TABLE stats_totals (
+    entity    VARCHAR(32) NOT NULL,
+    division  VARCHAR(50) NOT NULL DEFAULT '',
+    total     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (entity, division)
+);
+
+-- Submissions per calendar day of created_at
+CREATE TABLE stats_daily_submissions (
+    entity  VARCHAR(32) NOT NULL,
+    day     DATE NOT NULL,
+    total   BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (entity, day)
+);
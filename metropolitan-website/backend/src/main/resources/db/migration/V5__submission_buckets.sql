@@ -0,0 +1,14 @@
+-- Pre-aggregated submission counts at hour, day and week resolution (weeks start on Monday,
+-- matching date_trunc('week')). division = '' collects rows without a division.
+-- Replaces stats_daily_submissions, which the DAY buckets now cover.
+
+CREATE TABLE submission_buckets (
+    entity        VARCHAR(32) NOT NULL,
+    granularity   VARCHAR(8) NOT NULL,
+    bucket_start  TIMESTAMP(6) NOT NULL,
+    division      VARCHAR(50) NOT NULL DEFAULT '',
+    total         BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (entity, granularity, bucket_start, division)
+);
+
+DROP TABLE stats_daily_submissions;
@@ -0,0 +1,8 @@
+-- Idempotency key for public submissions. Asynchronous ingestion replays its write-ahead log after a
+-- restart and relies on these to skip rows that were already inserted.
+
+ALTER TABLE inquiries ADD COLUMN submission_id UUID;
+ALTER TABLE job_applications ADD COLUMN submission_id UUID;
+
+CREATE UNIQUE INDEX uq_inquiries_submission_id ON inquiries (submission_id);
+CREATE UNIQUE INDEX uq_job_applications_submission_id ON job_applications (submission_id);
@@ -0,0 +1,40 @@
+-- Replace identity columns with sequences that hand out ids in blocks of 50 (Hibernate pooled-lo), so
+-- inserts can be sent as JDBC batches. Each sequence starts after the current maximum id, so existing
+-- ids are kept. The column default lets plain SQL inserts (e.g. asynchronous ingestion) share the
+-- sequence: a nextval() there takes a whole block, which never overlaps one Hibernate is using.
+
+CREATE SEQUENCE admin_user_seq INCREMENT BY 50;
+SELECT setval('admin_user_seq', COALESCE((SELECT MAX(id) FROM admin_user), 0) + 1, false);
+ALTER TABLE admin_user ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE admin_user ALTER COLUMN id SET DEFAULT nextval('admin_user_seq');
+ALTER SEQUENCE admin_user_seq OWNED BY admin_user.id;
+
+CREATE SEQUENCE case_studies_seq INCREMENT BY 50;
+SELECT setval('case_studies_seq', COALESCE((SELECT MAX(id) FROM case_studies), 0) + 1, false);
+ALTER TABLE case_studies ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE case_studies ALTER COLUMN id SET DEFAULT nextval('case_studies_seq');
+ALTER SEQUENCE case_studies_seq OWNED BY case_studies.id;
+
+CREATE SEQUENCE news_seq INCREMENT BY 50;
+SELECT setval('news_seq', COALESCE((SELECT MAX(id) FROM news), 0) + 1, false);
+ALTER TABLE news ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE news ALTER COLUMN id SET DEFAULT nextval('news_seq');
+ALTER SEQUENCE news_seq OWNED BY news.id;
+
+CREATE SEQUENCE inquiries_seq INCREMENT BY 50;
+SELECT setval('inquiries_seq', COALESCE((SELECT MAX(id) FROM inquiries), 0) + 1, false);
+ALTER TABLE inquiries ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE inquiries ALTER COLUMN id SET DEFAULT nextval('inquiries_seq');
+ALTER SEQUENCE inquiries_seq OWNED BY inquiries.id;
+
+CREATE SEQUENCE job_applications_seq INCREMENT BY 50;
+SELECT setval('job_applications_seq', COALESCE((SELECT MAX(id) FROM job_applications), 0) + 1, false);
+ALTER TABLE job_applications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE job_applications ALTER COLUMN id SET DEFAULT nextval('job_applications_seq');
+ALTER SEQUENCE job_applications_seq OWNED BY job_applications.id;
+
+CREATE SEQUENCE testimonials_seq INCREMENT BY 50;
+SELECT setval('testimonials_seq', COALESCE((SELECT MAX(id) FROM testimonials), 0) + 1, false);
+ALTER TABLE testimonials ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE testimonials ALTER COLUMN id SET DEFAULT nextval('testimonials_seq');
+ALTER SEQUENCE testimonials_seq OWNED BY testimonials.id;
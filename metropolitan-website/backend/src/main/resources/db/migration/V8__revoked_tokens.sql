@@ -0,0 +1,11 @@
+-- Revoked token ids (jti). Every backend instance keeps the unexpired rows in memory and polls for new
+-- ones; rows are deleted once the token they refer to would have expired anyway.
+
+CREATE TABLE revoked_tokens (
+    jti UUID PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
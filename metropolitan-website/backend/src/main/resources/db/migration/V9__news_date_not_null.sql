@@ -0,0 +1,6 @@
+-- News is ordered and paged by (date, id); a NULL date had no defined place in either, so backfill it from
+-- the creation time and require it from now on.
+
+UPDATE news SET date = COALESCE(created_at::date, CURRENT_DATE) WHERE date IS NULL;
+
+ALTER TABLE news ALTER COLUMN date SET NOT NULL;
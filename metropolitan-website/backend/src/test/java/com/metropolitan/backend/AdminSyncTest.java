@@ -0,0 +1,124 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.model.AdminUser;
+import com.metropolitan.backend.repository.AdminUserRepository;
+import com.metropolitan.backend.service.AdminUserDetailsService;
+import com.metropolitan.backend.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deactivating an admin drops the cached principal on every instance: the change is broadcast through the
+ * content sync channel, and a notification from another instance evicts the principal here.
+ */
+@TestPropertySource(properties = "content-sync.enabled=true")
+class AdminSyncTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    @Autowired
+    private AdminUserDetailsService adminUserDetailsService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void deactivationOnAnotherInstanceEvictsTheCachedPrincipal() throws Exception {
+        AdminUser admin = createAdmin("remote-deactivation@example.com");
+        assertThat(adminUserDetailsService.loadPrincipal(admin.getEmail()))
+                .hasValueSatisfying(principal -> assertThat(principal.isEnabled()).isTrue());
+
+        // The other instance commits the change; this one still answers from its cache
+        jdbcTemplate.update("UPDATE admin_user SET is_active = false WHERE id = ?", admin.getId());
+        assertThat(enabled(admin.getEmail())).isTrue();
+
+        // Each attempt comes from a new origin, so it is never taken for a sequence gap (which would flush all);
+        // repeated until the listener, started with the context, has subscribed
+        await(() -> {
+            String payload = "{\"origin\":\"" + UUID.randomUUID() + "\",\"sequence\":1,\"admin\":\""
+                    + admin.getEmail() + "\"}";
+            jdbcTemplate.query("SELECT pg_notify('content_changed', ?)", rs -> null, payload);
+            return !enabled(admin.getEmail());
+        });
+    }
+
+    @Test
+    void deactivationIsBroadcastAndEvictsLocally() throws Exception {
+        AdminUser admin = createAdmin("local-deactivation@example.com");
+        assertThat(enabled(admin.getEmail())).isTrue();
+
+        List<String> payloads = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN content_changed");
+            }
+            authService.setActive(admin.getId(), false, "someone-else@example.com");
+
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            await(() -> {
+                try {
+                    PGNotification[] notifications = pgConnection.getNotifications(100);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            payloads.add(notification.getParameter());
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return payloads.stream().anyMatch(payload -> payload.contains(admin.getEmail()));
+            });
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("UNLISTEN content_changed");
+            }
+        }
+
+        assertThat(enabled(admin.getEmail())).isFalse();
+    }
+
+    private AdminUser createAdmin(String email) {
+        AdminUser admin = new AdminUser();
+        admin.setEmail(email);
+        admin.setPassword("not-a-real-hash");
+        admin.setName("Sync Test");
+        admin.setIsActive(true);
+        return adminUserRepository.save(admin);
+    }
+
+    private boolean enabled(String email) {
+        return adminUserDetailsService.loadPrincipal(email).map(UserDetails::isEnabled).orElse(false);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 30 seconds");
+            }
+            Thread.sleep(100);
+        }
+    }
+}
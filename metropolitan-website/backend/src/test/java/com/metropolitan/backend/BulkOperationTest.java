@@ -0,0 +1,232 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.dto.BulkChanges;
+import com.metropolitan.backend.dto.BulkRequest;
+import com.metropolitan.backend.dto.BulkResult;
+import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.model.Testimonial;
+import com.metropolitan.backend.repository.TestimonialRepository;
+import com.metropolitan.backend.service.BulkOperationService;
+import com.metropolitan.backend.service.StatsService;
+import com.metropolitan.backend.service.TestimonialService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Bulk deletes and division changes on the real schema: chunks of {@value #CHUNK_SIZE} ids, selection by ids
+ * and by filter, and rollups that match a rebuild from the base tables afterwards. Rows are inserted with
+ * creation times in 2019, away from the sample content.
+ */
+class BulkOperationTest extends PostgresIntegrationTest {
+
+    private static final int CHUNK_SIZE = 3;
+
+    private static final String MARKER = "bulk-operation-test";
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2019, 3, 1, 9, 0);
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Autowired
+    private TestimonialService testimonialService;
+
+    @Autowired
+    private TestimonialRepository testimonialRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private StatsService statsService;
+
+    private Object defaultChunkSize;
+
+    @BeforeEach
+    void useSmallChunks() {
+        defaultChunkSize = ReflectionTestUtils.getField(bulkOperationService, "chunkSize");
+        ReflectionTestUtils.setField(bulkOperationService, "chunkSize", CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void restore() {
+        reset(statsService);
+        ReflectionTestUtils.setField(bulkOperationService, "chunkSize", defaultChunkSize);
+        jdbcTemplate.update("DELETE FROM testimonials WHERE content = ?", MARKER);
+        jdbcTemplate.update("DELETE FROM inquiries WHERE message = ?", MARKER);
+        statsService.reconcile();
+    }
+
+    @Test
+    void deleteByIdsSpansChunksAndSkipsMissingIds() {
+        List<Long> ids = insertTestimonials("Solar", 7);
+        statsService.reconcile();
+
+        // Warm both caches so the test can see them being dropped
+        PageResponse<Testimonial> before = testimonialService.getTestimonials("Solar", 1, 100);
+        assertThat(before.getData()).extracting(Testimonial::getId).containsAll(ids);
+        assertThat(testimonialRepository.findById(ids.get(0))).isPresent();
+
+        // Two ids that don't exist and a duplicate: nine distinct ids, so three chunks
+        long[] requested = new long[ids.size() + 3];
+        for (int i = 0; i < ids.size(); i++) {
+            requested[i] = ids.get(i);
+        }
+        requested[ids.size()] = Long.MAX_VALUE;
+        requested[ids.size() + 1] = Long.MAX_VALUE - 1;
+        requested[ids.size() + 2] = ids.get(0);
+
+        BulkResult result = bulkOperationService.apply(BulkOperationService.Target.TESTIMONIALS,
+                new BulkRequest("delete", requested, null, null, null, null));
+
+        assertThat(result.getAffected()).isEqualTo(7);
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(countMarked("testimonials", "content")).isZero();
+        assertThat(testimonialService.getTestimonials("Solar", 1, 100).getData())
+                .extracting(Testimonial::getId).doesNotContainAnyElementsOf(ids);
+        assertThat(testimonialRepository.findById(ids.get(0))).isEmpty();
+        assertRollupsMatchBaseTables();
+    }
+
+    @Test
+    void updateByFilterMovesOnlyMatchingRows() {
+        List<Long> inRange = insertInquiries("Generator", BASE_TIME, 5);
+        List<Long> outOfRange = insertInquiries("Generator", BASE_TIME.plusYears(1), 2);
+        List<Long> otherDivision = insertInquiries("Solar", BASE_TIME, 2);
+        statsService.reconcile();
+
+        BulkResult result = bulkOperationService.apply(BulkOperationService.Target.INQUIRIES,
+                new BulkRequest("update", null, "Generator", BASE_TIME.minusDays(1), BASE_TIME.plusDays(1),
+                        new BulkChanges("ELV")));
+
+        // The filter is walked by id: a full chunk of three, then the remaining two
+        assertThat(result.getAffected()).isEqualTo(5);
+        assertThat(result.getChunks()).isEqualTo(2);
+        assertThat(divisionsOf(inRange)).containsOnly("ELV");
+        assertThat(divisionsOf(outOfRange)).containsOnly("Generator");
+        assertThat(divisionsOf(otherDivision)).containsOnly("Solar");
+        assertRollupsMatchBaseTables();
+    }
+
+    @Test
+    void updateByIdsSkipsRowsAlreadyInTheDivisionAndBumpsTheVersion() {
+        List<Long> ids = new ArrayList<>(insertTestimonials("Solar", 4));
+        ids.addAll(insertTestimonials("ELV", 1));
+        statsService.reconcile();
+        long[] requested = ids.stream().mapToLong(Long::longValue).toArray();
+
+        BulkResult result = bulkOperationService.apply(BulkOperationService.Target.TESTIMONIALS,
+                new BulkRequest("update", requested, null, null, null, new BulkChanges("ELV")));
+
+        assertThat(result.getAffected()).isEqualTo(4);
+        assertThat(result.getChunks()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM testimonials WHERE id = ANY(?) ORDER BY id",
+                Long.class, (Object) requested)).containsExactly(1L, 1L, 1L, 1L, 0L);
+        assertThat(testimonialService.getTestimonials("Solar", 1, 100).getData())
+                .extracting(Testimonial::getId).doesNotContainAnyElementsOf(ids);
+        assertRollupsMatchBaseTables();
+    }
+
+    @Test
+    void eachChunkCommitsOnItsOwn() {
+        List<Long> ids = insertInquiries("Solar", BASE_TIME, 7);
+        statsService.reconcile();
+
+        // The second chunk's rollup update fails, which rolls back that chunk's delete only
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("rollup update failed");
+            }
+            return invocation.callRealMethod();
+        }).when(statsService).recordDeleted(any(), anyMap());
+
+        assertThatThrownBy(() -> bulkOperationService.apply(BulkOperationService.Target.INQUIRIES,
+                new BulkRequest("delete", ids.stream().mapToLong(Long::longValue).toArray(), null, null, null, null)))
+                .hasMessage("rollup update failed");
+        reset(statsService);
+
+        assertThat(countMarked("inquiries", "message")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM inquiries WHERE message = ? ORDER BY id",
+                Long.class, MARKER)).isEqualTo(ids.subList(3, 7));
+        assertRollupsMatchBaseTables();
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        assertThatThrownBy(() -> bulkOperationService.apply(BulkOperationService.Target.TESTIMONIALS,
+                new BulkRequest("delete", null, null, null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bulkOperationService.apply(BulkOperationService.Target.TESTIMONIALS,
+                new BulkRequest("update", new long[] {1}, null, null, null, new BulkChanges("Unknown"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bulkOperationService.apply(BulkOperationService.Target.NEWS,
+                new BulkRequest("update", new long[] {1}, null, null, null, new BulkChanges("Solar"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> insertTestimonials(String division, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(jdbcTemplate.queryForObject("INSERT INTO testimonials " +
+                    "(content, author, role, division, created_at, updated_at, version) " +
+                    "VALUES (?, 'Author', 'Role', ?, ?, ?, 0) RETURNING id", Long.class,
+                    MARKER, division, BASE_TIME.plusHours(i), BASE_TIME.plusHours(i)));
+        }
+        return ids;
+    }
+
+    private List<Long> insertInquiries(String division, LocalDateTime createdAt, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(jdbcTemplate.queryForObject("INSERT INTO inquiries (name, email, message, division, created_at) " +
+                    "VALUES ('Name', 'bulk@example.com', ?, ?, ?) RETURNING id", Long.class,
+                    MARKER, division, createdAt.plusHours(i)));
+        }
+        return ids;
+    }
+
+    private List<String> divisionsOf(List<Long> ids) {
+        return jdbcTemplate.queryForList("SELECT division FROM inquiries WHERE id = ANY(?)", String.class,
+                (Object) ids.toArray(new Long[0]));
+    }
+
+    private long countMarked(String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?",
+                Long.class, MARKER);
+    }
+
+    // The incrementally maintained rollups equal what a rebuild from the base tables produces
+    private void assertRollupsMatchBaseTables() {
+        List<Map<String, Object>> totals = rollup("SELECT entity, division, total FROM stats_totals");
+        List<Map<String, Object>> buckets = rollup(
+                "SELECT entity, granularity, bucket_start, division, total FROM submission_buckets");
+        statsService.reconcile();
+        assertThat(totals).as("stats_totals").isEqualTo(rollup("SELECT entity, division, total FROM stats_totals"));
+        assertThat(buckets).as("submission_buckets").isEqualTo(rollup(
+                "SELECT entity, granularity, bucket_start, division, total FROM submission_buckets"));
+    }
+
+    private List<Map<String, Object>> rollup(String select) {
+        return jdbcTemplate.queryForList(select + " WHERE total <> 0 ORDER BY 1, 2, 3" +
+                (select.contains("bucket_start") ? ", 4" : ""));
+    }
+}
@@ -0,0 +1,104 @@
+package com.metropolitan.backend;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.metropolitan.backend.service.ContentCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A load that read the data before a write must not leave its result in the cache once the write's
+ * invalidation has returned, however the two interleave.
+ */
+class ContentCacheTest {
+
+    private static final ContentCache.Key KEY = ContentCache.Key.of(ContentCache.Region.NEWS, null, 1, 10);
+
+    private ContentCache contentCache;
+
+    // Stands in for the table: each write bumps it, and a load returns what it read
+    private final AtomicLong version = new AtomicLong();
+
+    @BeforeEach
+    void createCache() {
+        contentCache = new ContentCache();
+        ReflectionTestUtils.setField(contentCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(contentCache, "softTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(contentCache, "hardTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(contentCache, "refreshThreads", 1);
+        ReflectionTestUtils.invokeMethod(contentCache, "init");
+    }
+
+    @AfterEach
+    void shutdown() {
+        ReflectionTestUtils.invokeMethod(contentCache, "shutdown");
+    }
+
+    @Test
+    void loadThatReadBeforeAnInvalidationIsNotCached() {
+        Supplier<Long> loadRacingAWrite = () -> {
+            long read = version.get();
+            // The write commits and invalidates while this load is still running
+            version.incrementAndGet();
+            contentCache.invalidate(ContentCache.Region.NEWS);
+            return read;
+        };
+
+        assertThat(contentCache.get(KEY, loadRacingAWrite)).isEqualTo(0L);
+        assertThat(contentCache.get(KEY, this::read)).isEqualTo(1L);
+        assertThat(contentCache.get(KEY, this::read)).isEqualTo(1L);
+    }
+
+    @Test
+    void invalidationBetweenTheGenerationCheckAndTheInsertIsNotLost() {
+        AtomicBoolean armed = new AtomicBoolean();
+        AtomicBoolean invalidated = new AtomicBoolean();
+        Cache<?, ?> cache = (Cache<?, ?>) ReflectionTestUtils.getField(contentCache, "cache");
+
+        // Once armed, the next write to the cache first waits for a whole invalidation on another thread
+        Object interleaving = Proxy.newProxyInstance(Cache.class.getClassLoader(), new Class<?>[] {Cache.class},
+                (proxy, method, args) -> {
+                    if ((method.getName().equals("put") || method.getName().equals("asMap"))
+                            && armed.compareAndSet(true, false)) {
+                        Thread writer = new Thread(() -> {
+                            version.incrementAndGet();
+                            contentCache.invalidate(ContentCache.Region.NEWS);
+                        });
+                        writer.start();
+                        writer.join(TimeUnit.SECONDS.toMillis(5));
+                        invalidated.set(!writer.isAlive());
+                    }
+                    try {
+                        return method.invoke(cache, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        ReflectionTestUtils.setField(contentCache, "cache", interleaving);
+
+        Supplier<Long> load = () -> {
+            long read = version.get();
+            armed.set(true);
+            return read;
+        };
+
+        assertThat(contentCache.get(KEY, load)).isEqualTo(0L);
+        assertThat(invalidated).as("invalidation ran").isTrue();
+        assertThat(contentCache.get(KEY, this::read)).isEqualTo(1L);
+    }
+
+    private Long read() {
+        return version.get();
+    }
+}
@@ -0,0 +1,102 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.dto.ImportError;
+import com.metropolitan.backend.dto.ImportFormat;
+import com.metropolitan.backend.dto.ImportReport;
+import com.metropolitan.backend.service.ContentImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentImportServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ContentImportService contentImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportsSkippedRowsAndFailsOnlyRowsTheDatabaseWouldRefuse() {
+        String title = "Import " + UUID.randomUUID();
+        String csv = "title,description,image,division\n" +
+                title + ",First,/img/a.png,Solar\n" +
+                title + ",Repeat,/img/b.png,Solar\n" +
+                title + ",Other division,/img/c.png,Generator\n" +
+                title + " NUL,Bad \u0000 text,/img/d.png,Solar\n";
+
+        ImportReport report = contentImportService.importCaseStudies(body(csv), ImportFormat.CSV);
+
+        assertThat(report.getReceived()).isEqualTo(4);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(report.getSkippedRows()).extracting(ImportError::getLine).containsExactly(3L);
+        assertThat(report.getSkippedRows().get(0).getMessage()).isEqualTo("Skipped: same title and division as line 2");
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(ImportError::getField).containsExactly("description");
+
+        ImportReport rerun = contentImportService.importCaseStudies(body(csv), ImportFormat.CSV);
+
+        assertThat(rerun.getImported()).isZero();
+        assertThat(rerun.getSkippedRows()).extracting(ImportError::getLine).containsExactly(2L, 3L, 4L);
+        assertThat(rerun.getSkippedRows().get(0).getMessage())
+                .isEqualTo("Skipped: a row with this title and division already exists");
+    }
+
+    @Test
+    void removesInlineImagesOfRowsThatWereNotImported() throws IOException {
+        String title = "Import " + UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO news (title, content, image, summary, date, created_at, updated_at, version) " +
+                "VALUES (?, 'Existing', '/img/existing.png', 'Existing', CURRENT_DATE, now(), now(), 0)", title);
+        String ndjson = "{\"title\":\"" + title + "\",\"content\":\"Body\",\"summary\":\"Summary\",\"image\":\"" +
+                pngDataUrl(UUID.randomUUID()) + "\"}\n";
+        long before = countMedia();
+
+        ImportReport report = contentImportService.importNews(body(ndjson), ImportFormat.NDJSON);
+
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(countMedia()).isEqualTo(before);
+    }
+
+    @Test
+    void rejectsOverlongNdjsonLines() {
+        String line = "{\"title\":\"" + "x".repeat(16 * 1024 * 1024) + "\"}\n";
+
+        assertThatThrownBy(() -> contentImportService.importNews(body(line), ImportFormat.NDJSON))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("NDJSON line 1 is too long");
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A PNG signature followed by distinct bytes, so every call stores a new blob
+    private static String pngDataUrl(UUID salt) {
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+        byte[] tail = salt.toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] bytes = new byte[signature.length + tail.length];
+        System.arraycopy(signature, 0, bytes, 0, signature.length);
+        System.arraycopy(tail, 0, bytes, signature.length, tail.length);
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static long countMedia() throws IOException {
+        try (Stream<Path> files = Files.walk(mediaDir())) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
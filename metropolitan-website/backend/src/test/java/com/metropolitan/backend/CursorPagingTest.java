@@ -0,0 +1,141 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.dto.TotalMode;
+import com.metropolitan.backend.model.AdminUser;
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.repository.AdminUserRepository;
+import com.metropolitan.backend.service.CaseStudyService;
+import com.metropolitan.backend.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyset paging visits every row exactly once, and a cursor only continues the sort it was issued for. Runs
+ * against the sample content written by {@link com.metropolitan.backend.config.DatabaseSeeder}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CursorPagingTest extends PostgresIntegrationTest {
+
+    private static final String ADMIN_EMAIL = "cursor-paging@example.com";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CaseStudyService caseStudyService;
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final List<Long> caseStudyIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteCreatedRows() {
+        caseStudyIds.forEach(caseStudyService::deleteCaseStudy);
+    }
+
+    @Test
+    void cursorPagingVisitsEveryRowOnce() {
+        // Rows sharing a creation time are told apart by id
+        LocalDateTime sameTime = LocalDateTime.of(2020, 1, 1, 12, 0);
+        for (int i = 0; i < 3; i++) {
+            Long id = caseStudyService.createCaseStudy(caseStudy()).getId();
+            caseStudyIds.add(id);
+            jdbcTemplate.update("UPDATE case_studies SET created_at = ? WHERE id = ?", sameTime, id);
+        }
+
+        for (String sort : List.of("createdAt,asc", "createdAt,desc")) {
+            List<Long> visited = new ArrayList<>();
+            String cursor = "";
+            do {
+                PageResponse<CaseStudy> page = caseStudyService.getCaseStudiesAfterCursor(
+                        null, null, null, sort, cursor, TotalMode.NONE, 2);
+                page.getData().forEach(caseStudy -> visited.add(caseStudy.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(visited).as(sort).doesNotHaveDuplicates()
+                    .hasSize(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM case_studies", Integer.class))
+                    .containsAll(caseStudyIds);
+        }
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        HttpEntity<Void> authorized = new HttpEntity<>(bearer());
+        ResponseEntity<Map> first = restTemplate.exchange(
+                "/api/admin/case-studies?cursor=&limit=1&sort=createdAt,desc", HttpMethod.GET, authorized, Map.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String cursor = (String) first.getBody().get("nextCursor");
+        assertThat(cursor).isNotNull();
+
+        ResponseEntity<Map> sameSort = restTemplate.exchange(
+                "/api/admin/case-studies?cursor={cursor}&limit=1&sort=createdAt,desc", HttpMethod.GET, authorized,
+                Map.class, cursor);
+        assertThat(sameSort.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<Map> otherSort = restTemplate.exchange(
+                "/api/admin/case-studies?cursor={cursor}&limit=1&sort=createdAt,asc", HttpMethod.GET, authorized,
+                Map.class, cursor);
+        assertThat(otherSort.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(otherSort.getBody().get("message")).asString().contains("createdAt,desc");
+    }
+
+    @Test
+    void creationTimeIsRequired() {
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO testimonials (content, author, role, division, created_at, updated_at, version) " +
+                        "VALUES ('Content', 'Author', 'Role', 'Solar', NULL, now(), 0)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private HttpHeaders bearer() {
+        if (adminUserRepository.findByEmail(ADMIN_EMAIL).isEmpty()) {
+            AdminUser admin = new AdminUser();
+            admin.setEmail(ADMIN_EMAIL);
+            admin.setPassword("not-a-real-hash");
+            admin.setName("Cursor Test");
+            adminUserRepository.save(admin);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtService.generateAccessToken(ADMIN_EMAIL));
+        return headers;
+    }
+
+    private static CaseStudy caseStudy() {
+        CaseStudy caseStudy = new CaseStudy();
+        caseStudy.setTitle("Cursor case study");
+        caseStudy.setDescription("Description");
+        caseStudy.setImage("/img/cursor.png");
+        caseStudy.setDivision("Solar");
+        caseStudy.setClient("Client");
+        caseStudy.setLocation("Location");
+        caseStudy.setCompletionDate("2024");
+        return caseStudy;
+    }
+}
@@ -0,0 +1,122 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.model.Testimonial;
+import com.metropolitan.backend.service.CaseStudyService;
+import com.metropolitan.backend.service.TestimonialService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The facet endpoints list every division and add up to the number of rows, including rows whose division is
+ * no longer one of the known ones. Runs against the sample content written by
+ * {@link com.metropolitan.backend.config.DatabaseSeeder}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class DivisionFacetsTest extends PostgresIntegrationTest {
+
+    private static final String RETIRED_DIVISION = "Retired Division";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CaseStudyService caseStudyService;
+
+    @Autowired
+    private TestimonialService testimonialService;
+
+    private final List<Long> caseStudyIds = new ArrayList<>();
+    private final List<Long> testimonialIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteCreatedRows() {
+        caseStudyIds.forEach(caseStudyService::deleteCaseStudy);
+        testimonialIds.forEach(testimonialService::deleteTestimonial);
+    }
+
+    @Test
+    void caseStudyFacetsCountEveryRow() {
+        caseStudyIds.add(caseStudyService.createCaseStudy(caseStudy("Solar")).getId());
+        caseStudyIds.add(caseStudyService.createCaseStudy(caseStudy(RETIRED_DIVISION)).getId());
+        caseStudyIds.add(caseStudyService.createCaseStudy(caseStudy(RETIRED_DIVISION)).getId());
+
+        Map<String, Object> facets = facets("/api/case-studies/facets");
+
+        assertFacets(facets, "case_studies");
+        assertThat(((Number) facets.get("other")).longValue()).isEqualTo(2);
+    }
+
+    @Test
+    void testimonialFacetsCountEveryRow() {
+        testimonialIds.add(testimonialService.createTestimonial(testimonial("ELV")).getId());
+        testimonialIds.add(testimonialService.createTestimonial(testimonial(RETIRED_DIVISION)).getId());
+
+        Map<String, Object> facets = facets("/api/testimonials/facets");
+
+        assertFacets(facets, "testimonials");
+        assertThat(((Number) facets.get("other")).longValue()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertFacets(Map<String, Object> facets, String table) {
+        Map<String, Number> counts = (Map<String, Number>) facets.get("counts");
+        assertThat(counts).containsOnlyKeys("Central AC", "Elevators and Travelators", "Fire Detection & Protection",
+                "Generator", "Solar", "ELV");
+        for (Map.Entry<String, Number> entry : counts.entrySet()) {
+            assertThat(entry.getValue().longValue()).as(entry.getKey()).isEqualTo(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE division = ?", Long.class, entry.getKey()));
+        }
+
+        long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        long sum = counts.values().stream().mapToLong(Number::longValue).sum()
+                + ((Number) facets.get("other")).longValue();
+        assertThat(((Number) facets.get("total")).longValue()).isEqualTo(rows).isEqualTo(sum);
+    }
+
+    private Map<String, Object> facets(String path) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(path, HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private static CaseStudy caseStudy(String division) {
+        CaseStudy caseStudy = new CaseStudy();
+        caseStudy.setTitle("Facet case study");
+        caseStudy.setDescription("Description");
+        caseStudy.setImage("/img/facet.png");
+        caseStudy.setDivision(division);
+        caseStudy.setClient("Client");
+        caseStudy.setLocation("Location");
+        caseStudy.setCompletionDate("2024");
+        return caseStudy;
+    }
+
+    private static Testimonial testimonial(String division) {
+        Testimonial testimonial = new Testimonial();
+        testimonial.setContent("Facet testimonial");
+        testimonial.setAuthor("Author");
+        testimonial.setRole("Role");
+        testimonial.setDivision(division);
+        return testimonial;
+    }
+}
@@ -0,0 +1,107 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.repository.CaseStudyRepository;
+import com.metropolitan.backend.service.CaseStudyService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Inserts per second for multi-row case study saves, one row per statement versus JDBC batches.
+ * <p>
+ * Not part of the regular build (surefire only picks up {@code *Test} classes); run it with
+ * {@code mvn test -Dtest=InsertBatchingBenchmark}. "One row per statement" sets the session's JDBC batch
+ * size to 1, which sends the same statements IDENTITY ids forced before the move to sequences.
+ */
+class InsertBatchingBenchmark extends PostgresIntegrationTest {
+
+    private static final int ROWS = 20_000;
+    private static final int ROUNDS = 3;
+
+    private static final String MARKER = "insert-batching-benchmark";
+
+    @Autowired
+    private CaseStudyRepository caseStudyRepository;
+
+    @Autowired
+    private CaseStudyService caseStudyService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeRows() {
+        jdbcTemplate.update("DELETE FROM case_studies WHERE client = ?", MARKER);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void repositorySaveAll() {
+        run("saveAll, one row per statement", rows -> transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            caseStudyRepository.saveAll(rows);
+        }));
+        run("saveAll, JDBC batches", rows -> transactionTemplate.executeWithoutResult(status ->
+                caseStudyRepository.saveAll(rows)));
+    }
+
+    @Test
+    void serviceBulkCreate() {
+        run("CaseStudyService.createCaseStudies", caseStudyService::createCaseStudies);
+    }
+
+    private void run(String name, Consumer<List<CaseStudy>> insert) {
+        // Warm-up round: class loading, statement preparation, sequence blocks
+        insert.accept(caseStudies(ROWS / 10));
+        removeRows();
+
+        double best = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            List<CaseStudy> rows = caseStudies(ROWS);
+            long start = System.nanoTime();
+            insert.accept(rows);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            best = Math.max(best, ROWS / seconds);
+            removeRows();
+        }
+        System.out.printf("%-40s %,10.0f rows/s (best of %d rounds of %,d rows)%n", name, best, ROUNDS, ROWS);
+    }
+
+    private static List<CaseStudy> caseStudies(int count) {
+        String[] divisions = {"Central AC", "Elevators and Travelators", "Fire Detection & Protection",
+                "Generator", "Solar", "ELV"};
+        List<CaseStudy> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CaseStudy caseStudy = new CaseStudy();
+            caseStudy.setTitle("Benchmark case study " + i);
+            caseStudy.setDescription("Description of benchmark case study " + i);
+            caseStudy.setImage("/img/benchmark.png");
+            caseStudy.setDivision(divisions[i % divisions.length]);
+            caseStudy.setClient(MARKER);
+            caseStudy.setLocation("Location");
+            caseStudy.setCompletionDate("2024");
+            rows.add(caseStudy);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,214 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.dto.PageCursor;
+import com.metropolitan.backend.dto.TotalMode;
+import com.metropolitan.backend.repository.ListSort;
+import com.metropolitan.backend.repository.SortField;
+import com.metropolitan.backend.service.CaseStudyService;
+import com.metropolitan.backend.service.InquiryService;
+import com.metropolitan.backend.service.JobApplicationService;
+import com.metropolitan.backend.service.NewsService;
+import com.metropolitan.backend.service.TestimonialService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every public and admin list query is planned as an index scan on a large table. The test seeds
+ * {@value #ROWS} rows per content table, then runs each list shape through its service while a wrapped
+ * DataSource runs {@code EXPLAIN} for every ordered SELECT with the same parameters, and fails on any
+ * {@code Seq Scan}. Keyset pages must also bound the sort column in the index condition, so the scan starts at
+ * the cursor. Planner settings are left at their defaults.
+ */
+@Import(PlanRecorder.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryPlanTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 100_000;
+
+    // Marks the seeded rows so they can be removed again; other tests expect the sample content only
+    private static final String SEED_MARKER = "list-query-plan-seed";
+
+    private static final String[] DIVISIONS = {
+            "Central AC", "Elevators and Travelators", "Fire Detection & Protection", "Generator", "Solar", "ELV"
+    };
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime RANGE_FROM = START.plusDays(300);
+    private static final LocalDateTime RANGE_TO = START.plusDays(330);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CaseStudyService caseStudyService;
+
+    @Autowired
+    private TestimonialService testimonialService;
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @BeforeAll
+    void seed() {
+        // Two years of rows, oldest first, so created_at and id grow together as they do in production
+        String spread = "TIMESTAMP '2023-01-01' + (g * INTERVAL '2 years' / " + ROWS + ")";
+        String division = "(ARRAY['" + String.join("','", DIVISIONS) + "'])[g % 6 + 1]";
+
+        jdbcTemplate.update("INSERT INTO case_studies (title, description, image, division, client, location, " +
+                "completion_date, created_at, updated_at, version) " +
+                "SELECT 'Case study ' || g, ?, '/img/seed.png', " + division + ", 'Client', 'Location', '2024', " +
+                spread + ", " + spread + ", 0 FROM generate_series(1, " + ROWS + ") g", SEED_MARKER);
+        jdbcTemplate.update("INSERT INTO testimonials (content, author, role, division, created_at, updated_at, version) " +
+                "SELECT 'Testimonial ' || g, ?, 'Customer', " + division + ", " + spread + ", " + spread + ", 0 " +
+                "FROM generate_series(1, " + ROWS + ") g", SEED_MARKER);
+        jdbcTemplate.update("INSERT INTO news (title, content, image, summary, date, created_at, updated_at, version) " +
+                "SELECT 'News ' || g, 'Content', '/img/seed.png', ?, (" + spread + ")::date, " + spread + ", " +
+                spread + ", 0 FROM generate_series(1, " + ROWS + ") g", SEED_MARKER);
+        jdbcTemplate.update("INSERT INTO inquiries (name, email, subject, message, division, created_at) " +
+                "SELECT 'Name ' || g, 'seed@example.com', 'Subject', ?, " + division + ", " + spread + " " +
+                "FROM generate_series(1, " + ROWS + ") g", SEED_MARKER);
+        jdbcTemplate.update("INSERT INTO job_applications (name, email, position, cover_letter, created_at) " +
+                "SELECT 'Name ' || g, 'seed@example.com', 'Engineer', ?, " + spread + " " +
+                "FROM generate_series(1, " + ROWS + ") g", SEED_MARKER);
+        analyze();
+    }
+
+    @AfterAll
+    void removeSeed() {
+        jdbcTemplate.update("DELETE FROM case_studies WHERE description = ?", SEED_MARKER);
+        jdbcTemplate.update("DELETE FROM testimonials WHERE author = ?", SEED_MARKER);
+        jdbcTemplate.update("DELETE FROM news WHERE summary = ?", SEED_MARKER);
+        jdbcTemplate.update("DELETE FROM inquiries WHERE message = ?", SEED_MARKER);
+        jdbcTemplate.update("DELETE FROM job_applications WHERE cover_letter = ?", SEED_MARKER);
+        analyze();
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void publicListsUseIndexes() {
+        assertNoSeqScan(() -> {
+            newsService.getNews(1, 10);
+            newsService.getNews(50, 10);
+            caseStudyService.getCaseStudies(null, 1, 10);
+            caseStudyService.getCaseStudies(null, 50, 10);
+            testimonialService.getTestimonials(null, 1, 10);
+            for (String division : DIVISIONS) {
+                caseStudyService.getCaseStudies(division, 2, 10);
+                testimonialService.getTestimonials(division, 2, 10);
+            }
+        });
+    }
+
+    @Test
+    void adminListsUseIndexes() {
+        for (String sort : List.of("createdAt", "createdAt,asc", "date", "date,asc")) {
+            assertNoSeqScan(() -> forEachRange((from, to) -> {
+                newsService.getNewsWithFilters(from, to, sort, TotalMode.NONE, 1, 20);
+                newsService.getNewsWithFilters(from, to, sort, TotalMode.NONE, 20, 20);
+                newsService.getNewsAfterCursor(from, to, sort, cursor(sort), TotalMode.NONE, 20);
+            }));
+        }
+
+        for (String sort : List.of("createdAt", "createdAt,asc")) {
+            assertNoSeqScan(() -> forEachRange((from, to) -> {
+                for (String division : new String[] {null, "Solar"}) {
+                    caseStudyService.getCaseStudiesWithFilters(division, from, to, sort, TotalMode.NONE, 1, 20);
+                    caseStudyService.getCaseStudiesWithFilters(division, from, to, sort, TotalMode.NONE, 20, 20);
+                    caseStudyService.getCaseStudiesAfterCursor(division, from, to, sort, cursor(sort), TotalMode.NONE, 20);
+                    testimonialService.getTestimonialsWithFilters(division, from, to, sort, TotalMode.NONE, 1, 20);
+                    testimonialService.getTestimonialsWithFilters(division, from, to, sort, TotalMode.NONE, 20, 20);
+                    testimonialService.getTestimonialsAfterCursor(division, from, to, sort, cursor(sort), TotalMode.NONE, 20);
+                }
+                inquiryService.getInquiriesWithFilters(from, to, sort, TotalMode.NONE, 1, 20);
+                inquiryService.getInquiriesWithFilters(from, to, sort, TotalMode.NONE, 20, 20);
+                inquiryService.getInquiriesAfterCursor(from, to, sort, cursor(sort), TotalMode.NONE, 20);
+                jobApplicationService.getJobApplicationsWithFilters(from, to, sort, TotalMode.NONE, 1, 20);
+                jobApplicationService.getJobApplicationsWithFilters(from, to, sort, TotalMode.NONE, 20, 20);
+                jobApplicationService.getJobApplicationsAfterCursor(from, to, sort, cursor(sort), TotalMode.NONE, 20);
+            }));
+        }
+    }
+
+    @Test
+    void keysetPagesStartTheIndexScanAtTheCursor() {
+        List<Map.Entry<String, String>> plans = PlanRecorder.PLANS.record(() -> {
+            for (String sort : List.of("createdAt", "createdAt,asc")) {
+                for (String division : new String[] {null, "Solar"}) {
+                    caseStudyService.getCaseStudiesAfterCursor(division, null, null, sort, cursor(sort), TotalMode.NONE, 20);
+                    testimonialService.getTestimonialsAfterCursor(division, null, null, sort, cursor(sort), TotalMode.NONE, 20);
+                }
+                inquiryService.getInquiriesAfterCursor(null, null, sort, cursor(sort), TotalMode.NONE, 20);
+                jobApplicationService.getJobApplicationsAfterCursor(null, null, sort, cursor(sort), TotalMode.NONE, 20);
+            }
+            for (String sort : List.of("createdAt", "createdAt,asc", "date", "date,asc")) {
+                newsService.getNewsAfterCursor(null, null, sort, cursor(sort), TotalMode.NONE, 20);
+            }
+        });
+
+        assertThat(plans).as("explained keyset queries").hasSize(16);
+        for (Map.Entry<String, String> plan : plans) {
+            // A bound on the sort column in the Index Cond, not only in the Filter
+            assertThat(plan.getValue()).as("plan for %s", plan.getKey())
+                    .containsPattern("Index Cond: .*\\b(created_at|date) [<>]=");
+        }
+    }
+
+    // A cursor halfway through the seeded rows, issued for the given sort parameter
+    private static String cursor(String sort) {
+        String param = ListSort.parse(sort, null, EnumSet.allOf(SortField.class)).toParam();
+        return new PageCursor(param, START.plusDays(400), Long.MAX_VALUE).encode();
+    }
+
+    private interface RangeAction {
+        void run(LocalDateTime from, LocalDateTime to);
+    }
+
+    // No range, a one-month range, and each open-ended half of it
+    private static void forEachRange(RangeAction action) {
+        action.run(null, null);
+        action.run(RANGE_FROM, RANGE_TO);
+        action.run(RANGE_FROM, null);
+        action.run(null, RANGE_TO);
+    }
+
+    private void assertNoSeqScan(Runnable reads) {
+        List<Map.Entry<String, String>> plans = PlanRecorder.PLANS.record(reads);
+
+        assertThat(plans).as("explained list queries").isNotEmpty();
+        for (Map.Entry<String, String> plan : plans) {
+            assertThat(plan.getValue()).as("plan for %s", plan.getKey()).doesNotContain("Seq Scan");
+        }
+    }
+
+    private void analyze() {
+        jdbcTemplate.execute("ANALYZE case_studies, testimonials, news, inquiries, job_applications");
+    }
+}
@@ -0,0 +1,216 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.dto.PageCursor;
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.repository.ListQuery;
+import com.metropolitan.backend.repository.ListQueryExecutor;
+import com.metropolitan.backend.repository.ListSort;
+import com.metropolitan.backend.repository.SortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plans and latency of the admin case study list, comparing the catch-all JPQL it used before
+ * {@link ListQuery} (one shape with {@code (? = true OR column = ?)} guards for every filter) with the
+ * shapes ListQuery emits.
+ * <p>
+ * Not part of the regular build (surefire only picks up {@code *Test} classes); run it with
+ * {@code mvn test -Dtest=ListQueryShapeBenchmark}.
+ */
+@Import(PlanRecorder.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryShapeBenchmark extends PostgresIntegrationTest {
+
+    private static final int ROWS = 500_000;
+    private static final int LIMIT = 20;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 200;
+
+    private static final String SEED_MARKER = "list-query-shape-benchmark";
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    // The findWithFilters/findAfterCursor JPQL before ListQuery, with the SpEL null checks as plain parameters
+    private static final String LEGACY_JPQL = "SELECT c FROM CaseStudy c WHERE " +
+            "(:noDivision = true OR c.division = :division) AND " +
+            "(:noFromDate = true OR c.createdAt >= :fromDate) AND " +
+            "(:noToDate = true OR c.createdAt <= :toDate) AND " +
+            "(:noCursor = true OR c.createdAt < :cursorCreatedAt OR " +
+            "(c.createdAt = :cursorCreatedAt AND c.id < :cursorId)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC";
+
+    private static final Pattern EXECUTION_TIME = Pattern.compile("Execution Time: ([0-9.]+) ms");
+    private static final Pattern SHARED_HIT = Pattern.compile("Buffers: shared hit=(\\d+)");
+
+    private record Scenario(String name, String division, LocalDateTime fromDate, LocalDateTime toDate,
+                            PageCursor cursor, int page) {
+    }
+
+    private static final List<Scenario> SCENARIOS = List.of(
+            new Scenario("division", "Solar", null, null, null, 1),
+            new Scenario("division, page 50", "Solar", null, null, null, 50),
+            new Scenario("one-month range", null, START.plusDays(300), START.plusDays(330), null, 1),
+            new Scenario("division + one-month range", "Solar", START.plusDays(300), START.plusDays(330), null, 1),
+            new Scenario("division, keyset after mid-point", "Solar", null, null,
+                    new PageCursor("createdAt,desc", START.plusDays(365), Long.MAX_VALUE), 1),
+            new Scenario("no filter, keyset after mid-point", null, null, null,
+                    new PageCursor("createdAt,desc", START.plusDays(365), Long.MAX_VALUE), 1)
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ListQueryExecutor listQueryExecutor;
+
+    @BeforeAll
+    void seed() {
+        String spread = "TIMESTAMP '2023-01-01' + (g * INTERVAL '2 years' / " + ROWS + ")";
+        jdbcTemplate.update("INSERT INTO case_studies (title, description, image, division, client, location, " +
+                "completion_date, created_at, updated_at, version) " +
+                "SELECT 'Case study ' || g, 'Description', '/img/seed.png', " +
+                "(ARRAY['Central AC','Elevators and Travelators','Fire Detection & Protection','Generator'," +
+                "'Solar','ELV'])[g % 6 + 1], ?, 'Location', '2024', " + spread + ", " + spread + ", 0 " +
+                "FROM generate_series(1, " + ROWS + ") g", SEED_MARKER);
+        jdbcTemplate.execute("ANALYZE case_studies");
+    }
+
+    @AfterAll
+    void removeSeed() {
+        jdbcTemplate.update("DELETE FROM case_studies WHERE client = ?", SEED_MARKER);
+        jdbcTemplate.execute("ANALYZE case_studies");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterAll
+    void resetPlanCacheMode() {
+        setPlanCacheMode(null);
+    }
+
+    @Test
+    void compareShapes() {
+        System.out.printf("%,d case studies, %d rows per page; latency over %d runs after %d warm-up runs%n",
+                ROWS, LIMIT, RUNS, WARMUP);
+        System.out.printf("%-34s %-7s %9s %9s %9s %9s %8s %8s  %s%n", "scenario", "shape",
+                "cust p50", "cust p95", "gen p50", "gen p95", "exec ms", "buffers", "plan (custom)");
+        for (Scenario scenario : SCENARIOS) {
+            report(scenario, "legacy", () -> legacy(scenario));
+            report(scenario, "list", () -> current(scenario));
+        }
+    }
+
+    // EXPLAIN runs as an unnamed statement and always shows the custom plan. The driver switches to a named
+    // server-side statement after five executions, so the timed runs see plan_cache_mode.
+    private void report(Scenario scenario, String shape, Runnable read) {
+        Map.Entry<String, String> plan = PlanRecorder.PLANS.record("EXPLAIN (ANALYZE, BUFFERS)", read).get(0);
+
+        setPlanCacheMode("force_custom_plan");
+        double[] custom = time(read);
+        setPlanCacheMode("force_generic_plan");
+        double[] generic = time(read);
+
+        System.out.printf("%-34s %-7s %9.2f %9.2f %9.2f %9.2f %8s %8s  %s%n",
+                scenario.name(), shape, custom[RUNS / 2], custom[RUNS * 95 / 100],
+                generic[RUNS / 2], generic[RUNS * 95 / 100],
+                find(EXECUTION_TIME, plan.getValue()), find(SHARED_HIT, plan.getValue()), summarize(plan.getValue()));
+    }
+
+    private static double[] time(Runnable read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.run();
+        }
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            read.run();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    // Applies to every pooled connection from its next statement on
+    private void setPlanCacheMode(String mode) {
+        jdbcTemplate.execute(mode != null
+                ? "ALTER SYSTEM SET plan_cache_mode = " + mode
+                : "ALTER SYSTEM RESET plan_cache_mode");
+        jdbcTemplate.execute("SELECT pg_reload_conf()");
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<CaseStudy> legacy(Scenario scenario) {
+        PageCursor cursor = scenario.cursor();
+        TypedQuery<CaseStudy> query = entityManager.createQuery(LEGACY_JPQL, CaseStudy.class)
+                .setParameter("noDivision", scenario.division() == null)
+                .setParameter("division", scenario.division())
+                .setParameter("noFromDate", scenario.fromDate() == null)
+                .setParameter("fromDate", scenario.fromDate())
+                .setParameter("noToDate", scenario.toDate() == null)
+                .setParameter("toDate", scenario.toDate())
+                .setParameter("noCursor", cursor == null)
+                .setParameter("cursorCreatedAt", cursor != null ? cursor.getPosition() : null)
+                .setParameter("cursorId", cursor != null ? cursor.getId() : null)
+                .setFirstResult((scenario.page() - 1) * LIMIT)
+                .setMaxResults(LIMIT + 1);
+        return query.getResultList();
+    }
+
+    private List<CaseStudy> current(Scenario scenario) {
+        ListQuery query = new ListQuery(ListSort.descending(SortField.CREATED_AT))
+                .division(scenario.division())
+                .createdBetween(scenario.fromDate(), scenario.toDate())
+                .after(scenario.cursor());
+        return scenario.cursor() != null
+                ? listQueryExecutor.findAfter(CaseStudy.class, query, LIMIT)
+                : listQueryExecutor.findSlice(CaseStudy.class, query, scenario.page(), LIMIT).getContent();
+    }
+
+    private static String find(Pattern pattern, String plan) {
+        Matcher matcher = pattern.matcher(plan);
+        return matcher.find() ? matcher.group(1) : "-";
+    }
+
+    // Plan nodes, outermost first, e.g. "Limit > Index Scan using idx_... on case_studies c1_0"
+    private static String summarize(String plan) {
+        StringBuilder summary = new StringBuilder();
+        String[] lines = plan.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0 && !lines[i].contains("->")) {
+                continue;
+            }
+            String node = lines[i].replaceFirst("^\\s*(->\\s*)?", "");
+            int cost = node.indexOf("  (");
+            if (!summary.isEmpty()) {
+                summary.append(" > ");
+            }
+            summary.append(cost > 0 ? node.substring(0, cost) : node);
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.dto.LoginRequest;
+import com.metropolitan.backend.service.LoginThrottle;
+import com.metropolitan.backend.service.LoginThrottledException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Failed logins are limited per email and per client address, where the address is the one the load balancer
+ * forwards in {@code X-Forwarded-For}. Runs on a real port so Tomcat's remote IP valve resolves the address;
+ * the test client connects from loopback, which is a trusted proxy by default. Uses the default limits of 5
+ * failures per email and 20 per address.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoginThrottleTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    // HttpURLConnection cannot read the body of a 401 answer to a streamed POST
+    @BeforeEach
+    void useJdkHttpClient() {
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+    }
+
+    @Test
+    void failuresPerAddressThrottleOnlyThatClient() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(login("address-" + i + "@example.com", "198.51.100.1").getStatusCode())
+                    .isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+
+        ResponseEntity<Map> throttled = login("address-20@example.com", "198.51.100.1");
+        assertThat(throttled.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(throttled.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+
+        // Other clients behind the same load balancer are unaffected
+        assertThat(login("address-20@example.com", "198.51.100.2").getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void failuresPerEmailThrottleOnlyThatEmail() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(login("victim@example.com", "203.0.113." + i).getStatusCode())
+                    .isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+
+        ResponseEntity<Map> throttled = login("victim@example.com", "203.0.113.5");
+        assertThat(throttled.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(throttled.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+
+        assertThat(login("bystander@example.com", "203.0.113.5").getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void releasingOneAttemptKeepsTheOthersCounted() {
+        String email = "concurrent@example.com";
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.acquire(email, "192.0.2." + i);
+        }
+        // One of the four succeeds while the other three are still being checked
+        loginThrottle.release(email, "192.0.2.0");
+
+        loginThrottle.acquire(email, "192.0.2.4");
+        loginThrottle.acquire(email, "192.0.2.5");
+        assertThatThrownBy(() -> loginThrottle.acquire(email, "192.0.2.6"))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+
+    private ResponseEntity<Map> login(String email, String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.postForEntity("/api/admin/auth/login",
+                new HttpEntity<>(new LoginRequest(email, "wrong-password"), headers), Map.class);
+    }
+}
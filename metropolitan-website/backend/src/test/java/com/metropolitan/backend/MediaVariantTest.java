@@ -0,0 +1,93 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.service.ImageTooLargeException;
+import com.metropolitan.backend.service.MediaVariantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Resized variants are produced for ordinary images, and a source whose header declares more pixels than
+ * {@code media.variants.max-source-pixels} is refused before its pixel data is decoded.
+ */
+class MediaVariantTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MediaVariantService mediaVariantService;
+
+    @Test
+    void imageWithinTheLimitIsResized() throws IOException {
+        Path source = Files.createTempFile(mediaDir(), "variant-source", ".png");
+        ImageIO.write(new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB), "png", source.toFile());
+
+        Path variant = mediaVariantService.getVariant(UUID.randomUUID().toString(), source, 100, 80).join();
+
+        assertThat(variant).isNotEqualTo(source);
+        BufferedImage resized = ImageIO.read(variant.toFile());
+        assertThat(resized.getWidth()).isEqualTo(100);
+        assertThat(resized.getHeight()).isEqualTo(67);
+    }
+
+    @Test
+    void imageAboveThePixelLimitIsRefusedWithoutDecoding() throws IOException {
+        // A few hundred bytes on disk, but 30000x30000 RGB would need 3.6 GB once decoded
+        Path source = Files.createTempFile(mediaDir(), "variant-bomb", ".png");
+        Files.write(source, png(30_000, 30_000));
+
+        CompletableFuture<Path> variant = mediaVariantService.getVariant(UUID.randomUUID().toString(), source, 100, 80);
+
+        assertThatThrownBy(variant::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ImageTooLargeException.class)
+                .hasMessageContaining("30000x30000");
+    }
+
+    // A valid PNG header for an RGB image of the given size, followed by a single empty row of pixel data
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        png.write(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.write(new byte[] {8, 2, 0, 0, 0});
+        chunk(png, "IHDR", header.toByteArray());
+
+        ByteArrayOutputStream pixels = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(pixels)) {
+            deflater.write(new byte[1 + 3 * 16]);
+        }
+        chunk(png, "IDAT", pixels.toByteArray());
+        chunk(png, "IEND", new byte[0]);
+        return png.toByteArray();
+    }
+
+    private static void chunk(ByteArrayOutputStream png, String type, byte[] data) throws IOException {
+        DataOutputStream out = new DataOutputStream(png);
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,141 @@
+package com.metropolitan.backend;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * While recording, explains each ordered SELECT on the same connection just before it runs, replaying
+ * the parameters that were bound to it. Tests {@code @Import} {@link Config} to wrap the application's
+ * DataSource.
+ */
+final class PlanRecorder {
+
+    static final PlanRecorder PLANS = new PlanRecorder();
+
+    private volatile List<Map.Entry<String, String>> plans;
+    private volatile String explainPrefix;
+
+    private PlanRecorder() {
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        static BeanPostProcessor explainingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? PLANS.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs {@code reads} and returns the SQL and plan of each ordered SELECT it issued.
+     */
+    List<Map.Entry<String, String>> record(Runnable reads) {
+        return record("EXPLAIN", reads);
+    }
+
+    /**
+     * Same, with an explicit prefix such as {@code EXPLAIN (ANALYZE, BUFFERS)}.
+     */
+    synchronized List<Map.Entry<String, String>> record(String explain, Runnable reads) {
+        explainPrefix = explain;
+        plans = new ArrayList<>();
+        try {
+            reads.run();
+            return plans;
+        } finally {
+            plans = null;
+        }
+    }
+
+    private DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, result) ->
+                result instanceof Connection connection ? wrap(connection) : result);
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrap(connection, (String) args[0], statement);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(Connection connection, String sql, PreparedStatement statement) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        if (!lower.startsWith("select") || !lower.contains(" order by ")) {
+            return statement;
+        }
+
+        List<Object[]> parameters = new ArrayList<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.add(new Object[] {method, args});
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("executeQuery") && args == null) {
+                explain(connection, sql, parameters);
+            }
+            return invoke(method, statement, args);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(), new Class<?>[] {PreparedStatement.class}, handler);
+    }
+
+    private void explain(Connection connection, String sql, List<Object[]> parameters) throws Exception {
+        List<Map.Entry<String, String>> target = plans;
+        if (target == null) {
+            return;
+        }
+        try (PreparedStatement explain = connection.prepareStatement(explainPrefix + " " + sql)) {
+            for (Object[] parameter : parameters) {
+                invoke((Method) parameter[0], explain, (Object[]) parameter[1]);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            target.add(Map.entry(sql, plan.toString()));
+        }
+    }
+
+    private interface ResultWrapper {
+        Object wrap(Method method, Object[] args, Object result) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        InvocationHandler handler = (proxy, method, args) -> wrapper.wrap(method, args, invoke(method, target, args));
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+}
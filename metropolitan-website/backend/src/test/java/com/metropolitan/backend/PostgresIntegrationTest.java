@@ -0,0 +1,54 @@
+package com.metropolitan.backend;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base for tests that need the real schema. One embedded PostgreSQL server is started per JVM and
+ * migrated by Flyway when the first Spring context starts; contexts share it. Content sync is off unless a
+ * subclass turns it on with its own {@code @TestPropertySource}.
+ */
+@SpringBootTest
+@TestPropertySource(properties = "content-sync.enabled=false")
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    private static final Path MEDIA_DIR = createTempDirectory("media");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("media.storage-dir", MEDIA_DIR::toString);
+    }
+
+    protected static Path mediaDir() {
+        return MEDIA_DIR;
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start embedded PostgreSQL", e);
+        }
+    }
+
+    private static Path createTempDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
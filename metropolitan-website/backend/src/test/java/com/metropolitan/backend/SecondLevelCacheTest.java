@@ -0,0 +1,119 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.dto.CaseStudySummary;
+import com.metropolitan.backend.dto.PageResponse;
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.model.News;
+import com.metropolitan.backend.model.Testimonial;
+import com.metropolitan.backend.repository.CaseStudyRepository;
+import com.metropolitan.backend.repository.NewsRepository;
+import com.metropolitan.backend.repository.TestimonialRepository;
+import com.metropolitan.backend.service.CaseStudyService;
+import com.metropolitan.backend.service.ContentCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads of cached entities and cacheable queries go to the database once; repeating them issues no SQL.
+ * Runs against the sample content written by {@link com.metropolitan.backend.config.DatabaseSeeder}.
+ */
+class SecondLevelCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CaseStudyRepository caseStudyRepository;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private TestimonialRepository testimonialRepository;
+
+    @Autowired
+    private CaseStudyService caseStudyService;
+
+    @Autowired
+    private ContentCache contentCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearCaches() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedFindByIdIssuesNoSql() {
+        Long caseStudyId = caseStudyRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        Long newsId = newsRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        Long testimonialId = testimonialRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        assertReadOnceThenCached(() -> caseStudyRepository.findById(caseStudyId).map(CaseStudy::getTitle));
+        assertReadOnceThenCached(() -> newsRepository.findById(newsId).map(News::getTitle));
+        assertReadOnceThenCached(() -> testimonialRepository.findById(testimonialId).map(Testimonial::getAuthor));
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void repeatedCacheableQueriesIssueNoSql() {
+        String division = testimonialRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getDivision();
+        PageRequest newestFirst = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        assertReadOnceThenCached(() -> testimonialRepository.findByDivision(division).stream()
+                .map(Testimonial::getId)
+                .toList());
+        assertReadOnceThenCached(() -> caseStudyRepository.findSummaries(newestFirst).getContent().stream()
+                .map(CaseStudySummary::getId)
+                .toList());
+        assertReadOnceThenCached(() -> caseStudyRepository.findSummariesByDivision(division, newestFirst)
+                .map(CaseStudySummary::getId)
+                .getContent());
+        assertReadOnceThenCached(caseStudyRepository::findCollectionVersion);
+        assertReadOnceThenCached(() -> testimonialRepository.findCollectionVersionByDivision(division));
+
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void pagedListMissingTheContentCacheIsServedFromTheQueryCache() {
+        String division = caseStudyRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getDivision();
+
+        // The page and its total, as the public list endpoint loads them once the content cache has dropped them
+        assertReadOnceThenCached(() -> {
+            contentCache.invalidateAll();
+            PageResponse<CaseStudySummary> page = caseStudyService.getCaseStudies(division, 1, 5);
+            return List.of(page.getTotal(), page.getData().stream().map(CaseStudySummary::getId).toList());
+        });
+    }
+
+    // Runs the read twice and checks that only the first one prepared statements, and both saw the same data
+    private <T> void assertReadOnceThenCached(Supplier<T> read) {
+        long before = statistics.getPrepareStatementCount();
+        T first = read.get();
+        long afterFirst = statistics.getPrepareStatementCount();
+        T second = read.get();
+        long afterSecond = statistics.getPrepareStatementCount();
+
+        assertThat(afterFirst - before).as("statements for the first read").isPositive();
+        assertThat(afterSecond - afterFirst).as("statements for the repeated read").isZero();
+        assertThat(second).isEqualTo(first);
+    }
+}
@@ -0,0 +1,99 @@
+package com.metropolitan.backend;
+
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.service.CaseStudyService;
+import com.metropolitan.backend.service.StatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * The dashboard rollups stay consistent when several instances rebuild them at once, and a content write and
+ * its rollup update commit or roll back together.
+ */
+class StatsRollupTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CaseStudyService caseStudyService;
+
+    @SpyBean
+    private StatsService statsService;
+
+    @Test
+    void concurrentReconcilesAllSucceed() throws Exception {
+        int instances = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(instances);
+        try {
+            List<Future<?>> reconciles = new ArrayList<>();
+            for (int i = 0; i < instances; i++) {
+                reconciles.add(executor.submit(() -> {
+                    start.await();
+                    statsService.reconcile();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> reconcile : reconciles) {
+                reconcile.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(total("CASE_STUDIES", "")).isEqualTo(count("SELECT COUNT(*) FROM case_studies"));
+        assertThat(total("INQUIRIES", "")).isEqualTo(count("SELECT COUNT(*) FROM inquiries"));
+    }
+
+    @Test
+    void failedRollupUpdateRollsBackTheContentWrite() {
+        long before = total("CASE_STUDIES", "");
+        doThrow(new IllegalStateException("rollup update failed"))
+                .when(statsService).recordCreated(eq(StatsService.Counter.CASE_STUDIES), any(), any());
+        try {
+            CaseStudy caseStudy = new CaseStudy();
+            caseStudy.setTitle("Rolled back case study");
+            caseStudy.setDescription("Description");
+            caseStudy.setImage("/img/rollback.png");
+            caseStudy.setDivision("Solar");
+            caseStudy.setClient("Client");
+            caseStudy.setLocation("Location");
+            caseStudy.setCompletionDate("2024");
+
+            assertThatThrownBy(() -> caseStudyService.createCaseStudy(caseStudy))
+                    .hasMessage("rollup update failed");
+        } finally {
+            reset(statsService);
+        }
+
+        assertThat(count("SELECT COUNT(*) FROM case_studies WHERE title = 'Rolled back case study'")).isZero();
+        assertThat(total("CASE_STUDIES", "")).isEqualTo(before);
+    }
+
+    private long total(String entity, String division) {
+        return jdbcTemplate.queryForObject("SELECT total FROM stats_totals WHERE entity = ? AND division = ?",
+                Long.class, entity, division);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,233 @@
+package com.metropolitan.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.model.Inquiry;
+import com.metropolitan.backend.service.StatsService;
+import com.metropolitan.backend.service.SubmissionIngestionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write-ahead log behaviour of {@link SubmissionIngestionService}: acknowledged submissions survive a writer
+ * that dies before flushing, replay inserts each of them exactly once (also after switching to sync mode),
+ * concurrent submissions share an fsync, and rows the database rejects go to the dead-letter log. Each test
+ * builds its own service instances on a fresh log directory; the application's instance runs in sync mode
+ * with no log.
+ */
+class SubmissionIngestionTest extends PostgresIntegrationTest {
+
+    private static final String MARKER = "submission-ingestion-test";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Path walDir;
+
+    private final List<SubmissionIngestionService> services = new ArrayList<>();
+
+    @BeforeEach
+    void createWalDir() throws IOException {
+        walDir = Files.createTempDirectory("ingestion-wal");
+    }
+
+    @AfterEach
+    void stopServices() {
+        for (SubmissionIngestionService service : List.copyOf(services)) {
+            stop(service);
+        }
+        jdbcTemplate.update("DELETE FROM inquiries WHERE message = ?", MARKER);
+    }
+
+    @Test
+    void acknowledgedSubmissionsSurviveAWriterThatDiedBeforeFlushing() throws Exception {
+        SubmissionIngestionService first = start("async");
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(first.submitInquiry(inquiry("flushed " + i, "Solar")));
+        }
+        await(() -> stat(first, "insertedCount") == 5);
+
+        // The process dies: the writer stops, and nothing submitted from now on is inserted
+        killWriter(first);
+        ids.addAll(submitConcurrently(first, 20));
+        assertThat(countInquiries(ids)).isEqualTo(5);
+
+        // Restarted in sync mode; the flushed entries are still in the open segment and must not be duplicated
+        SubmissionIngestionService second = start("sync");
+        await(() -> stat(second, "insertedCount") + stat(second, "duplicateCount") == 25);
+
+        assertThat(stat(second, "replayedCount")).isEqualTo(25);
+        assertThat(stat(second, "insertedCount")).isEqualTo(20);
+        assertThat(stat(second, "duplicateCount")).isEqualTo(5);
+        for (UUID id : ids) {
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inquiries WHERE submission_id = ?",
+                    Long.class, id)).as("rows for %s", id).isEqualTo(1);
+        }
+        await(() -> segments().isEmpty());
+    }
+
+    @Test
+    void concurrentSubmissionsShareOneFsync() throws Exception {
+        SubmissionIngestionService service = start("async");
+        killWriter(service);
+        ReentrantLock syncLock = (ReentrantLock) ReflectionTestUtils.getField(service, "syncLock");
+
+        // Hold the sync lock until every submission is appended, so the first sync covers all of them
+        syncLock.lock();
+        List<Future<UUID>> submissions;
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<UUID>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> service.submitInquiry(inquiry("grouped " + n, null))));
+            }
+            submissions = futures;
+            await(() -> (long) ReflectionTestUtils.getField(service, "appendedLines") == 10);
+        } finally {
+            syncLock.unlock();
+        }
+        for (Future<UUID> submission : submissions) {
+            submission.get();
+        }
+        executor.shutdown();
+
+        assertThat(stat(service, "acceptedCount")).isEqualTo(10);
+        assertThat(stat(service, "walSyncCount")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedRowsAreDeadLetteredWithoutBlockingTheBatch() throws Exception {
+        SubmissionIngestionService first = start("async");
+        killWriter(first);
+        UUID good = first.submitInquiry(inquiry("good", "Solar"));
+        // Longer than the division column, which submit() does not check (the controller validates it)
+        UUID rejected = first.submitInquiry(inquiry("rejected", "x".repeat(60)));
+        UUID alsoGood = first.submitInquiry(inquiry("also good", null));
+
+        SubmissionIngestionService second = start("async");
+        await(() -> stat(second, "insertedCount") == 2 && stat(second, "deadLetterCount") == 1);
+
+        assertThat(countInquiries(List.of(good, alsoGood))).isEqualTo(2);
+        assertThat(countInquiries(List.of(rejected))).isZero();
+        assertThat(Files.readString(walDir.resolve("dead-letter.log"))).contains(rejected.toString());
+
+        // The dead-lettered entry is settled: a third start replays nothing
+        stop(second);
+        SubmissionIngestionService third = start("sync");
+        assertThat(stat(third, "replayedCount")).isZero();
+    }
+
+    private SubmissionIngestionService start(String mode) {
+        SubmissionIngestionService service =
+                new SubmissionIngestionService(jdbcTemplate, transactionTemplate, statsService, objectMapper);
+        ReflectionTestUtils.setField(service, "mode", mode);
+        ReflectionTestUtils.setField(service, "walDir", walDir.toString());
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "flushInterval", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(service, "queueCapacity", 10000);
+        ReflectionTestUtils.setField(service, "segmentBytes", 16L * 1024 * 1024);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        services.add(service);
+        return service;
+    }
+
+    private void stop(SubmissionIngestionService service) {
+        services.remove(service);
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    // What a crash does to the writer: it stops where it is, leaving queued entries only in the log
+    private static void killWriter(SubmissionIngestionService service) throws InterruptedException {
+        ReflectionTestUtils.setField(service, "running", false);
+        Thread writer = (Thread) ReflectionTestUtils.getField(service, "writerThread");
+        writer.interrupt();
+        writer.join();
+    }
+
+    private static List<UUID> submitConcurrently(SubmissionIngestionService service, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UUID>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> service.submitInquiry(inquiry("queued " + n, "ELV"))));
+            }
+            List<UUID> ids = new ArrayList<>();
+            for (Future<UUID> future : futures) {
+                ids.add(future.get());
+            }
+            return ids;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Inquiry inquiry(String name, String division) {
+        Inquiry inquiry = new Inquiry();
+        inquiry.setName(name);
+        inquiry.setEmail("ingestion@example.com");
+        inquiry.setSubject("Subject");
+        inquiry.setMessage(MARKER);
+        inquiry.setDivision(division);
+        return inquiry;
+    }
+
+    private long countInquiries(List<UUID> ids) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inquiries WHERE submission_id = ANY(?)",
+                Long.class, (Object) ids.toArray(new UUID[0]));
+    }
+
+    private static long stat(SubmissionIngestionService service, String name) {
+        return ((Number) service.stats().get(name)).longValue();
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(walDir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-")).toList();
+        } catch (IOException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 30 seconds");
+            }
+            Thread.sleep(20);
+        }
+    }
+}